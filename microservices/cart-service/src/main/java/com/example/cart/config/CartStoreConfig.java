@@ -0,0 +1,34 @@
+package com.example.cart.config;
+
+import com.example.cart.repository.CartRepository;
+import com.example.cart.service.HotCartStore;
+import com.example.threads.WorkerThreads;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@EnableConfigurationProperties(CartStoreProperties.class)
+public class CartStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "cart.store.mode", havingValue = "memory")
+    public HotCartStore hotCartStore(CartRepository repo, EntityManagerFactory entityManagerFactory,
+                                     JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                     CartStoreProperties properties, MeterRegistry registry, ObjectMapper objectMapper,
+                                     Environment environment) {
+        if (properties.getFallbackFile() == null) {
+            throw new IllegalStateException("cart.store.fallback-file must be set when cart.store.mode=memory; "
+                    + "point it at a mounted volume so unflushed carts survive a restart");
+        }
+        return new HotCartStore(repo, entityManagerFactory, jdbcTemplate, transactionManager,
+                properties, registry, objectMapper, WorkerThreads.factory("cart-write-behind", environment));
+    }
+}
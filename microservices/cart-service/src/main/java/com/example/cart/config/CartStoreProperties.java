@@ -0,0 +1,41 @@
+package com.example.cart.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "cart.store")
+public class CartStoreProperties {
+    public enum Mode { JPA, MEMORY }
+
+    /** JPA reads and writes every request through the database; MEMORY serves active carts from the hot store. */
+    private Mode mode = Mode.JPA;
+
+    /** Most carts kept in memory before the least recently used clean ones are evicted. */
+    private int maxCarts = 10_000;
+
+    /** Clean carts not touched for this long are evicted. */
+    private Duration idleTimeout = Duration.ofMinutes(30);
+
+    /** How long mutations are coalesced in memory before being written to the database. */
+    private Duration flushInterval = Duration.ofMillis(500);
+
+    /**
+     * Where unflushed changes are written if the final flush on shutdown fails; replayed on the next start.
+     * It is then the only copy of those changes, so it has no default: MEMORY mode requires a path on a
+     * volume that survives the container.
+     */
+    private Path fallbackFile;
+
+    public Mode getMode() { return mode; }
+    public void setMode(Mode mode) { this.mode = mode; }
+    public int getMaxCarts() { return maxCarts; }
+    public void setMaxCarts(int maxCarts) { this.maxCarts = maxCarts; }
+    public Duration getIdleTimeout() { return idleTimeout; }
+    public void setIdleTimeout(Duration idleTimeout) { this.idleTimeout = idleTimeout; }
+    public Duration getFlushInterval() { return flushInterval; }
+    public void setFlushInterval(Duration flushInterval) { this.flushInterval = flushInterval; }
+    public Path getFallbackFile() { return fallbackFile; }
+    public void setFallbackFile(Path fallbackFile) { this.fallbackFile = fallbackFile; }
+}
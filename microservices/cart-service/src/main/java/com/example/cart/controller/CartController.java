@@ -1,10 +1,14 @@
 package com.example.cart.controller;
 
 import com.example.cart.dto.CartDTO;
+import com.example.cart.dto.CartItemBatchDTO;
 import com.example.cart.dto.CartItemDTO;
 import com.example.cart.model.CartItem;
 import com.example.cart.service.CartService;
+import com.example.idempotency.IdempotencyService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -13,19 +17,30 @@ import org.springframework.web.bind.annotation.*;
 public class CartController {
 
     private final CartService cartService;
+    private final IdempotencyService idempotencyService;
 
-    public CartController(CartService cartService) {
+    public CartController(CartService cartService, IdempotencyService idempotencyService) {
         this.cartService = cartService;
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping
-    public ResponseEntity<CartDTO> createCart() {
-        return ResponseEntity.ok(cartService.createCart());
+    public ResponseEntity<CartDTO> createCart(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, "POST /carts", CartDTO.class,
+                cartService::createCart));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CartDTO> getCartById(@PathVariable Long id) {
-        return ResponseEntity.ok(cartService.getCartById(id));
+    public ResponseEntity<CartDTO> getCartById(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // A polling client that already has the version this instance last saw gets a 304 without a query.
+        Long knownVersion = ifNoneMatch == null ? null : cartService.getKnownVersion(id);
+        if (knownVersion != null && matches(ifNoneMatch, eTag(knownVersion))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag(knownVersion)).build();
+        }
+        CartDTO cart = cartService.getCartById(id);
+        return ResponseEntity.ok().eTag(eTag(cart.getVersion())).body(cart);
     }
 
     @PostMapping("/{cartId}/items")
@@ -37,8 +52,30 @@ public class CartController {
         return ResponseEntity.ok(cartService.addItem(cartId, item));
     }
 
+    @PostMapping("/{cartId}/items:batch")
+    public ResponseEntity<CartDTO> applyItemBatch(@PathVariable Long cartId, @Valid @RequestBody CartItemBatchDTO batch) {
+        return ResponseEntity.ok(cartService.applyItemBatch(cartId, batch.getOperations()));
+    }
+
     @DeleteMapping("/{cartId}/items/{itemId}")
     public ResponseEntity<CartDTO> removeItemFromCart(@PathVariable Long cartId, @PathVariable Long itemId) {
         return ResponseEntity.ok(cartService.removeItem(cartId, itemId));
     }
-} 
\ No newline at end of file
+
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(eTag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
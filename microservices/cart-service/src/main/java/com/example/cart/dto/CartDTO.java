@@ -4,11 +4,15 @@ import java.util.List;
 
 public class CartDTO {
     private Long id;
+    private Long version;
     private List<CartItemDTO> items;
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public List<CartItemDTO> getItems() { return items; }
     public void setItems(List<CartItemDTO> items) { this.items = items; }
 } 
\ No newline at end of file
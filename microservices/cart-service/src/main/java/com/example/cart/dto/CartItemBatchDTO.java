@@ -0,0 +1,23 @@
+package com.example.cart.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class CartItemBatchDTO {
+    public static final int MAX_OPERATIONS = 500;
+
+    @NotNull(message = "Operations are required")
+    @Size(min = 1, max = MAX_OPERATIONS, message = "A batch must contain 1 to " + MAX_OPERATIONS + " operations")
+    private List<@NotNull @Valid CartItemOperationDTO> operations;
+
+    public List<CartItemOperationDTO> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<CartItemOperationDTO> operations) {
+        this.operations = operations;
+    }
+}
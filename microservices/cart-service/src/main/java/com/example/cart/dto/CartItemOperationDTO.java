@@ -0,0 +1,80 @@
+package com.example.cart.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class CartItemOperationDTO {
+    public enum Type { ADD, UPDATE, REMOVE }
+
+    @NotNull(message = "Operation type is required")
+    private Type type;
+
+    // Required for UPDATE and REMOVE
+    private Long itemId;
+
+    // Required for ADD
+    private String productName;
+
+    // For ADD
+    @Min(value = 0, message = "Price must be non-negative")
+    private double price;
+
+    // Required for ADD and UPDATE
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+
+    @JsonIgnore
+    @AssertTrue(message = "ADD requires productName and quantity, UPDATE requires quantity")
+    public boolean isComplete() {
+        if (type == null) {
+            return true;
+        }
+        return switch (type) {
+            case ADD -> productName != null && !productName.isBlank() && quantity != null;
+            case UPDATE -> quantity != null;
+            case REMOVE -> true;
+        };
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
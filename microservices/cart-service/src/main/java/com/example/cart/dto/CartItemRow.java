@@ -0,0 +1,8 @@
+package com.example.cart.dto;
+
+/**
+ * One row of the cart read query: the cart id and version plus one of its items. The item columns
+ * are null for a cart without items because the query uses a left join.
+ */
+public record CartItemRow(Long cartId, Long cartVersion, Long itemId, String productName, Double price, Integer quantity) {
+}
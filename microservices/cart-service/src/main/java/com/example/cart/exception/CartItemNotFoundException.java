@@ -0,0 +1,7 @@
+package com.example.cart.exception;
+
+public class CartItemNotFoundException extends RuntimeException {
+    public CartItemNotFoundException(Long cartId, Long itemId) {
+        super("Item " + itemId + " not found in cart " + cartId);
+    }
+}
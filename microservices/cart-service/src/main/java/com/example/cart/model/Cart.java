@@ -1,19 +1,36 @@
 package com.example.cart.model;
 
+import com.example.persistence.PooledSequence;
 import jakarta.persistence.*;
+import org.hibernate.annotations.OptimisticLock;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 public class Cart {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @PooledSequence("cart_seq")
     private Long id;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    // Bumped explicitly by CartService on every item change, including the single-row paths that
+    // never load the cart; drives the ETag.
+    @Version
+    private Long version;
+
+    @OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    @OptimisticLock(excluded = true)
     private List<CartItem> items = new ArrayList<>();
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
     public List<CartItem> getItems() { return items; }
     public void setItems(List<CartItem> items) { this.items = items; }
+
+    public void addItem(CartItem item) {
+        item.setCart(this);
+        items.add(item);
+    }
 } 
\ No newline at end of file
@@ -1,17 +1,28 @@
 package com.example.cart.model;
 
+import com.example.persistence.PooledSequence;
 import jakarta.persistence.*;
 
 @Entity
 public class CartItem {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence ids (rather than IDENTITY) let Hibernate batch item inserts.
+    @Id
+    @PooledSequence("cart_item_seq")
     private Long id;
+
+    // Owning side, so a single item can be inserted or deleted without loading the cart's collection.
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "cart_id")
+    private Cart cart;
+
     private String productName;
     private double price;
     private int quantity;
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
+    public Cart getCart() { return cart; }
+    public void setCart(Cart cart) { this.cart = cart; }
     public String getProductName() { return productName; }
     public void setProductName(String productName) { this.productName = productName; }
     public double getPrice() { return price; }
@@ -0,0 +1,13 @@
+package com.example.cart.repository;
+
+import com.example.cart.model.CartItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface CartItemRepository extends JpaRepository<CartItem, Long> {
+    @Modifying
+    @Query("delete from CartItem i where i.id = :itemId and i.cart.id = :cartId")
+    int deleteByCartIdAndId(@Param("cartId") Long cartId, @Param("itemId") Long itemId);
+}
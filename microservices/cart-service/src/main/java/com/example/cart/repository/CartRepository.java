@@ -1,6 +1,25 @@
 package com.example.cart.repository;
 
+import com.example.cart.dto.CartItemRow;
 import com.example.cart.model.Cart;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface CartRepository extends JpaRepository<Cart, Long> {} 
\ No newline at end of file
+import java.util.List;
+import java.util.Optional;
+
+public interface CartRepository extends JpaRepository<Cart, Long> {
+    @Query("select c from Cart c left join fetch c.items where c.id = :id")
+    Optional<Cart> findWithItemsById(@Param("id") Long id);
+
+    /** Bumps the version of a cart whose items are about to change; returns 0 if the cart does not exist. */
+    @Modifying
+    @Query("update Cart c set c.version = c.version + 1 where c.id = :id")
+    int incrementVersion(@Param("id") Long id);
+
+    @Query("select new com.example.cart.dto.CartItemRow(c.id, c.version, i.id, i.productName, i.price, i.quantity) "
+            + "from Cart c left join c.items i where c.id = :id order by i.id")
+    List<CartItemRow> findItemRowsByCartId(@Param("id") Long id);
+}
@@ -1,63 +1,102 @@
 package com.example.cart.service;
 
 import com.example.cart.dto.CartDTO;
-import com.example.cart.dto.CartItemDTO;
-import com.example.cart.exception.CartNotFoundException;
+import com.example.cart.dto.CartItemOperationDTO;
 import com.example.cart.model.Cart;
 import com.example.cart.model.CartItem;
-import com.example.cart.repository.CartRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Entry point for cart operations. Deliberately not transactional: with {@code cart.store.mode=memory}
+ * carts are served by {@link HotCartStore} without touching the database, and only the JPA path, in
+ * {@link JpaCartStore}, opens a transaction.
+ */
 @Service
 public class CartService {
-    private final CartRepository repo;
-    public CartService(CartRepository repo) { this.repo = repo; }
+    private final JpaCartStore jpaCarts;
+    private final Timer batchTimer;
+    private final DistributionSummary batchRows;
+    private final CartVersionCache versions = new CartVersionCache();
+    private HotCartStore hotCarts;
+
+    public CartService(JpaCartStore jpaCarts, MeterRegistry registry) {
+        this.jpaCarts = jpaCarts;
+        this.batchTimer = Timer.builder("cart.items.batch")
+                .description("Time to apply and flush a batch of cart item operations").register(registry);
+        this.batchRows = DistributionSummary.builder("cart.items.batch.rows")
+                .description("Cart item rows written per batch").register(registry);
+    }
+
+    // Present only when cart.store.mode=memory; the methods below then serve carts from memory.
+    @Autowired(required = false)
+    public void setHotCartStore(HotCartStore hotCarts) {
+        this.hotCarts = hotCarts;
+    }
 
     public CartDTO createCart() {
-        Cart cart = repo.save(new Cart());
-        return toDTO(cart);
+        CartDTO cart = jpaCarts.createCart();
+        if (hotCarts != null) {
+            hotCarts.putNew(cart.getId(), cart.getVersion());
+        }
+        return remember(cart);
     }
 
     public CartDTO getCartById(Long id) {
-        Cart cart = repo.findById(id).orElseThrow(() -> new CartNotFoundException(id));
-        return toDTO(cart);
+        if (hotCarts != null) {
+            return hotCarts.getCart(id);
+        }
+        return remember(jpaCarts.getCart(id));
     }
 
     public CartDTO addItem(Long cartId, CartItem item) {
-        Cart cart = repo.findById(cartId).orElseThrow(() -> new CartNotFoundException(cartId));
-        cart.getItems().add(item);
-        Cart updatedCart = repo.save(cart);
-        return toDTO(updatedCart);
+        if (hotCarts != null) {
+            return hotCarts.addItem(cartId, item.getProductName(), item.getPrice(), item.getQuantity());
+        }
+        return remember(jpaCarts.addItem(cartId, item));
     }
 
     public CartDTO removeItem(Long cartId, Long itemId) {
-        Cart cart = repo.findById(cartId).orElseThrow(() -> new CartNotFoundException(cartId));
-        cart.getItems().removeIf(i -> i.getId().equals(itemId));
-        Cart updatedCart = repo.save(cart);
-        return toDTO(updatedCart);
+        if (hotCarts != null) {
+            return hotCarts.removeItem(cartId, itemId);
+        }
+        return remember(jpaCarts.removeItem(cartId, itemId));
     }
 
-    private CartDTO toDTO(Cart cart) {
-        CartDTO dto = new CartDTO();
-        dto.setId(cart.getId());
-        if (cart.getItems() != null) {
-            dto.setItems(cart.getItems().stream().map(this::toDTO).collect(Collectors.toList()));
-        }
-        return dto;
+    /**
+     * The last version this instance saw for the cart, or null if it is unknown. Lets GET /carts/{id}
+     * answer a matching If-None-Match without a query.
+     */
+    public Long getKnownVersion(Long cartId) {
+        return hotCarts != null ? hotCarts.getVersion(cartId) : versions.get(cartId);
+    }
+
+    private CartDTO remember(CartDTO cart) {
+        versions.put(cart.getId(), cart.getVersion());
+        return cart;
     }
 
-    private CartItemDTO toDTO(CartItem item) {
-        CartItemDTO dto = new CartItemDTO();
-        dto.setId(item.getId());
-        dto.setProductName(item.getProductName());
-        dto.setPrice(item.getPrice());
-        dto.setQuantity(item.getQuantity());
-        return dto;
+    /**
+     * Applies all operations to the cart at once; see {@link JpaCartStore#applyItemBatch}. The operations
+     * are expected to have passed the constraints on {@link com.example.cart.dto.CartItemBatchDTO}.
+     */
+    public CartDTO applyItemBatch(Long cartId, List<CartItemOperationDTO> operations) {
+        long start = System.nanoTime();
+        CartDTO cart = hotCarts != null
+                ? hotCarts.applyItemBatch(cartId, operations)
+                : remember(jpaCarts.applyItemBatch(cartId, operations));
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchRows.record(operations.size());
+        return cart;
     }
 
     public Cart saveCart(Cart cart) {
-        return repo.save(cart);
+        return jpaCarts.saveCart(cart);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,39 @@
+package com.example.cart.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Last cart version seen by this instance, kept briefly so polling clients can get a 304 without a
+ * query. Entries expire quickly because another instance may have changed the cart since.
+ */
+class CartVersionCache {
+    static final int MAX_ENTRIES = 10_000;
+    static final long TTL_MILLIS = 5_000;
+
+    private record Entry(Long version, long expiresAtMillis) {
+    }
+
+    private final Map<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    synchronized void put(Long cartId, Long version) {
+        entries.put(cartId, new Entry(version, System.currentTimeMillis() + TTL_MILLIS));
+    }
+
+    synchronized Long get(Long cartId) {
+        Entry entry = entries.get(cartId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() < System.currentTimeMillis()) {
+            entries.remove(cartId);
+            return null;
+        }
+        return entry.version();
+    }
+}
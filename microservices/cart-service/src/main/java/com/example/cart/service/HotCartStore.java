@@ -0,0 +1,492 @@
+package com.example.cart.service;
+
+import com.example.cart.config.CartStoreProperties;
+import com.example.cart.dto.CartDTO;
+import com.example.cart.dto.CartItemDTO;
+import com.example.cart.dto.CartItemOperationDTO;
+import com.example.cart.dto.CartItemRow;
+import com.example.cart.exception.CartItemNotFoundException;
+import com.example.cart.exception.CartNotFoundException;
+import com.example.cart.model.CartItem;
+import com.example.cart.repository.CartRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Write-behind cart store used when {@code cart.store.mode=memory}. Active carts live in a bounded
+ * map and mutations are acknowledged from memory; changes are coalesced per item and written in
+ * one JDBC batch per flush interval. Item ids come from the same Hibernate sequence generator as
+ * the JPA path, so clients can address new items before they are flushed.
+ * <p>
+ * Requests never touch the database for a hot cart: when the store is full, a request queues the
+ * eviction of the least recently used carts on the flusher thread, so the store can briefly hold a
+ * few more than {@code cart.store.max-carts}.
+ */
+public class HotCartStore {
+    private static final Logger log = LoggerFactory.getLogger(HotCartStore.class);
+
+    private static final String INSERT_ITEM =
+            "insert into cart_item (id, cart_id, product_name, price, quantity) values (?, ?, ?, ?, ?)";
+    private static final String UPDATE_ITEM =
+            "update cart_item set product_name = ?, price = ?, quantity = ? where id = ?";
+    private static final String DELETE_ITEM = "delete from cart_item where id = ?";
+    private static final String UPDATE_CART_VERSION = "update cart set version = ? where id = ?";
+
+    private final CartRepository repo;
+    private final SessionFactoryImplementor sessionFactory;
+    private final IdentifierGenerator itemIdGenerator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CartStoreProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, HotCart> carts = new ConcurrentHashMap<>();
+    private final Set<HotCart> dirtyCarts = ConcurrentHashMap.newKeySet();
+    // Flushing and eviction hold this, so a cart is never evicted while its changes are in flight. A lock
+    // rather than a monitor because it is held across the database write, which would pin a virtual thread.
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService flusher;
+    private final AtomicBoolean evictionQueued = new AtomicBoolean();
+    private final Timer flushTimer;
+    private final DistributionSummary flushRows;
+
+    public HotCartStore(CartRepository repo, EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager, CartStoreProperties properties,
+                        MeterRegistry registry, ObjectMapper objectMapper, ThreadFactory threadFactory) {
+        this.repo = repo;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.itemIdGenerator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(CartItem.class).getGenerator();
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        Gauge.builder("cart.store.carts", carts, Map::size)
+                .description("Carts held in the hot cart store").register(registry);
+        Gauge.builder("cart.store.dirty", dirtyCarts, Set::size)
+                .description("Carts with changes not yet written to the database").register(registry);
+        this.flushTimer = Timer.builder("cart.store.flush")
+                .description("Time to write one coalesced batch of cart changes").register(registry);
+        this.flushRows = DistributionSummary.builder("cart.store.flush.rows")
+                .description("Cart item rows written per flush").register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        replayFallback();
+        long interval = properties.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushAndEvictIdle, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(properties.getFlushInterval().toMillis() + 5_000, TimeUnit.MILLISECONDS);
+        flush();
+        if (!dirtyCarts.isEmpty()) {
+            writeFallback();
+        }
+    }
+
+    /** Registers a cart that was just created, so its first read does not go to the database. */
+    public void putNew(Long cartId, Long version) {
+        admit(new HotCart(cartId, version));
+    }
+
+    /** The cart's current version if it is held in memory, otherwise null; never touches the database. */
+    public Long getVersion(Long cartId) {
+        HotCart cart = carts.get(cartId);
+        return cart == null ? null : cart.version;
+    }
+
+    public CartDTO getCart(Long cartId) {
+        return withCart(cartId, HotCart::toDTO);
+    }
+
+    public CartDTO addItem(Long cartId, String productName, double price, int quantity) {
+        Long itemId = nextItemIds(1).get(0);
+        return withCart(cartId, cart -> {
+            cart.add(itemId, productName, price, quantity);
+            cart.version++;
+            dirtyCarts.add(cart);
+            return cart.toDTO();
+        });
+    }
+
+    public CartDTO removeItem(Long cartId, Long itemId) {
+        return withCart(cartId, cart -> {
+            if (cart.remove(itemId)) {
+                cart.version++;
+                dirtyCarts.add(cart);
+            }
+            return cart.toDTO();
+        });
+    }
+
+    /** Applies the operations all-or-nothing; they must already have passed {@link CartService} validation. */
+    public CartDTO applyItemBatch(Long cartId, List<CartItemOperationDTO> operations) {
+        int adds = (int) operations.stream().filter(op -> op.getType() == CartItemOperationDTO.Type.ADD).count();
+        List<Long> newIds = adds == 0 ? List.of() : nextItemIds(adds);
+        return withCart(cartId, cart -> {
+            // Check every referenced item first so a failing operation leaves the cart untouched.
+            Set<Long> ids = new HashSet<>(cart.items.keySet());
+            for (CartItemOperationDTO op : operations) {
+                boolean known = switch (op.getType()) {
+                    case ADD -> true;
+                    case UPDATE -> ids.contains(op.getItemId());
+                    case REMOVE -> ids.remove(op.getItemId());
+                };
+                if (!known) {
+                    throw new CartItemNotFoundException(cartId, op.getItemId());
+                }
+            }
+            int next = 0;
+            for (CartItemOperationDTO op : operations) {
+                switch (op.getType()) {
+                    case ADD -> cart.add(newIds.get(next++), op.getProductName(), op.getPrice(), op.getQuantity());
+                    case UPDATE -> cart.updateQuantity(op.getItemId(), op.getQuantity());
+                    case REMOVE -> cart.remove(op.getItemId());
+                }
+            }
+            cart.version++;
+            dirtyCarts.add(cart);
+            return cart.toDTO();
+        });
+    }
+
+    // Runs the action under the cart's monitor, retrying if the cart was evicted between lookup and lock.
+    private CartDTO withCart(Long cartId, Function<HotCart, CartDTO> action) {
+        while (true) {
+            HotCart cart = load(cartId);
+            synchronized (cart) {
+                if (carts.get(cartId) == cart) {
+                    return action.apply(cart);
+                }
+            }
+        }
+    }
+
+    /** Writes every pending change in one transaction. On failure the changes stay pending for the next attempt. */
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<HotCart> flushed = new ArrayList<>();
+            List<PendingWrite> writes = new ArrayList<>();
+            for (HotCart cart : dirtyCarts) {
+                dirtyCarts.remove(cart);
+                synchronized (cart) {
+                    writes.add(cart.drain());
+                }
+                flushed.add(cart);
+            }
+            if (writes.isEmpty()) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                int rows = write(writes);
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                flushRows.record(rows);
+            } catch (RuntimeException e) {
+                log.warn("Cart write-behind flush failed, keeping {} carts pending", writes.size(), e);
+                for (int i = 0; i < flushed.size(); i++) {
+                    HotCart cart = flushed.get(i);
+                    synchronized (cart) {
+                        cart.restore(writes.get(i));
+                    }
+                    dirtyCarts.add(cart);
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushAndEvictIdle() {
+        try {
+            flush();
+            long idleBefore = System.currentTimeMillis() - properties.getIdleTimeout().toMillis();
+            flushLock.lock();
+            try {
+                for (HotCart cart : carts.values()) {
+                    if (cart.lastAccess < idleBefore) {
+                        evict(cart);
+                    }
+                }
+            } finally {
+                flushLock.unlock();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cart write-behind cycle failed", e);
+        }
+    }
+
+    private HotCart load(Long cartId) {
+        HotCart cart = carts.get(cartId);
+        if (cart == null) {
+            List<CartItemRow> rows = repo.findItemRowsByCartId(cartId);
+            if (rows.isEmpty()) {
+                throw new CartNotFoundException(cartId);
+            }
+            HotCart loaded = new HotCart(cartId, rows.get(0).cartVersion());
+            for (CartItemRow row : rows) {
+                if (row.itemId() != null) {
+                    loaded.items.put(row.itemId(), new Item(row.productName(), row.price(), row.quantity()));
+                }
+            }
+            cart = admit(loaded);
+        }
+        cart.lastAccess = System.currentTimeMillis();
+        return cart;
+    }
+
+    private HotCart admit(HotCart cart) {
+        if (carts.size() >= properties.getMaxCarts() && evictionQueued.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::evictLeastRecentlyUsed);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the final flush takes care of the dirty carts
+                evictionQueued.set(false);
+            }
+        }
+        HotCart existing = carts.putIfAbsent(cart.id, cart);
+        return existing != null ? existing : cart;
+    }
+
+    // Drops the least recently used tenth of the store at once so a full store does not scan on every miss.
+    // Runs on the flusher thread, since the flush that makes dirty carts evictable writes to the database.
+    private void evictLeastRecentlyUsed() {
+        evictionQueued.set(false);
+        flushLock.lock();
+        try {
+            flush();
+            carts.values().stream()
+                    .filter(cart -> !dirtyCarts.contains(cart))
+                    .sorted(Comparator.comparingLong(cart -> cart.lastAccess))
+                    .limit(Math.max(1, properties.getMaxCarts() / 10))
+                    .toList()
+                    .forEach(this::evict);
+        } catch (RuntimeException e) {
+            log.warn("Cart eviction failed", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void evict(HotCart cart) {
+        synchronized (cart) {
+            if (!dirtyCarts.contains(cart)) {
+                carts.remove(cart.id, cart);
+            }
+        }
+    }
+
+    private List<Long> nextItemIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            for (int i = 0; i < count; i++) {
+                ids.add((Long) itemIdGenerator.generate((SharedSessionContractImplementor) session, null));
+            }
+        }
+        return ids;
+    }
+
+    private int write(List<PendingWrite> writes) {
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        List<Object[]> versions = new ArrayList<>();
+        for (PendingWrite write : writes) {
+            versions.add(new Object[]{write.version(), write.cartId()});
+            write.inserts().forEach(i -> inserts.add(new Object[]{i.getId(), write.cartId(), i.getProductName(), i.getPrice(), i.getQuantity()}));
+            write.updates().forEach(i -> updates.add(new Object[]{i.getProductName(), i.getPrice(), i.getQuantity(), i.getId()}));
+            write.deletes().forEach(id -> deletes.add(new Object[]{id}));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!deletes.isEmpty()) {
+                jdbcTemplate.batchUpdate(DELETE_ITEM, deletes);
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ITEM, inserts);
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_ITEM, updates);
+            }
+            // The database takes the in-memory version, so ETags stay valid after the cart is evicted and reloaded.
+            jdbcTemplate.batchUpdate(UPDATE_CART_VERSION, versions);
+        });
+        return inserts.size() + updates.size() + deletes.size();
+    }
+
+    private void writeFallback() {
+        List<PendingWrite> writes = new ArrayList<>();
+        for (HotCart cart : dirtyCarts) {
+            synchronized (cart) {
+                writes.add(cart.drain());
+            }
+        }
+        try {
+            objectMapper.writeValue(properties.getFallbackFile().toFile(), writes);
+            log.error("Could not flush {} carts on shutdown; changes saved to {}", writes.size(), properties.getFallbackFile());
+        } catch (IOException e) {
+            log.error("Could not save unflushed cart changes to {}; they are lost", properties.getFallbackFile(), e);
+        }
+    }
+
+    void replayFallback() {
+        if (!Files.exists(properties.getFallbackFile())) {
+            return;
+        }
+        try {
+            List<PendingWrite> writes = objectMapper.readValue(properties.getFallbackFile().toFile(), new TypeReference<>() {});
+            write(writes);
+            Files.delete(properties.getFallbackFile());
+            log.info("Replayed unflushed changes for {} carts from {}", writes.size(), properties.getFallbackFile());
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not replay unflushed cart changes from {}; leaving the file in place", properties.getFallbackFile(), e);
+        }
+    }
+
+    /** Visible for tests: saves pending changes to the fallback file as a failed shutdown flush would. */
+    void dumpPendingToFallback() {
+        flushLock.lock();
+        try {
+            writeFallback();
+            dirtyCarts.clear();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /** The changes drained from one cart for a single flush. */
+    record PendingWrite(Long cartId, Long version, List<CartItemDTO> inserts, List<CartItemDTO> updates, List<Long> deletes) {
+    }
+
+    private record Item(String productName, double price, int quantity) {
+    }
+
+    /** A cart's items plus which of them changed since the last flush; guarded by its own monitor. */
+    private static final class HotCart {
+        final Long id;
+        final Map<Long, Item> items = new LinkedHashMap<>();
+        final Set<Long> inserted = new HashSet<>();
+        final Set<Long> updated = new HashSet<>();
+        final Set<Long> deleted = new HashSet<>();
+        // Written under the cart's monitor, read without it by getVersion.
+        volatile long version;
+        volatile long lastAccess = System.currentTimeMillis();
+
+        HotCart(Long id, Long version) {
+            this.id = id;
+            this.version = version == null ? 0 : version;
+        }
+
+        void add(Long itemId, String productName, double price, int quantity) {
+            items.put(itemId, new Item(productName, price, quantity));
+            inserted.add(itemId);
+        }
+
+        void updateQuantity(Long itemId, int quantity) {
+            Item item = items.get(itemId);
+            items.put(itemId, new Item(item.productName(), item.price(), quantity));
+            if (!inserted.contains(itemId)) {
+                updated.add(itemId);
+            }
+        }
+
+        boolean remove(Long itemId) {
+            if (items.remove(itemId) == null) {
+                return false;
+            }
+            updated.remove(itemId);
+            // An item added and removed within one window never reaches the database.
+            if (!inserted.remove(itemId)) {
+                deleted.add(itemId);
+            }
+            return true;
+        }
+
+        PendingWrite drain() {
+            PendingWrite write = new PendingWrite(id, version, rows(inserted), rows(updated), new ArrayList<>(deleted));
+            inserted.clear();
+            updated.clear();
+            deleted.clear();
+            return write;
+        }
+
+        void restore(PendingWrite write) {
+            for (CartItemDTO row : write.inserts()) {
+                if (items.containsKey(row.getId())) {
+                    inserted.add(row.getId());
+                    updated.remove(row.getId());
+                } else {
+                    // Removed after the failed flush drained it, so it was never written.
+                    deleted.remove(row.getId());
+                }
+            }
+            for (CartItemDTO row : write.updates()) {
+                if (items.containsKey(row.getId()) && !inserted.contains(row.getId())) {
+                    updated.add(row.getId());
+                }
+            }
+            deleted.addAll(write.deletes());
+        }
+
+        CartDTO toDTO() {
+            CartDTO dto = new CartDTO();
+            dto.setId(id);
+            dto.setVersion(version);
+            dto.setItems(rows(items.keySet()));
+            return dto;
+        }
+
+        private List<CartItemDTO> rows(Set<Long> ids) {
+            List<CartItemDTO> rows = new ArrayList<>(ids.size());
+            for (Long itemId : ids) {
+                Item item = items.get(itemId);
+                CartItemDTO dto = new CartItemDTO();
+                dto.setId(itemId);
+                dto.setProductName(item.productName());
+                dto.setPrice(item.price());
+                dto.setQuantity(item.quantity());
+                rows.add(dto);
+            }
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.cart.service;
+
+import com.example.cart.dto.CartDTO;
+import com.example.cart.dto.CartItemDTO;
+import com.example.cart.dto.CartItemOperationDTO;
+import com.example.cart.dto.CartItemRow;
+import com.example.cart.exception.CartItemNotFoundException;
+import com.example.cart.exception.CartNotFoundException;
+import com.example.cart.model.Cart;
+import com.example.cart.model.CartItem;
+import com.example.cart.repository.CartItemRepository;
+import com.example.cart.repository.CartRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The database side of {@link CartService}, one transaction per call. Kept out of {@code CartService}
+ * so that carts served by {@link HotCartStore} never check out a connection or open a transaction.
+ */
+@Component
+public class JpaCartStore {
+    private final CartRepository repo;
+    private final CartItemRepository itemRepo;
+
+    public JpaCartStore(CartRepository repo, CartItemRepository itemRepo) {
+        this.repo = repo;
+        this.itemRepo = itemRepo;
+    }
+
+    public CartDTO createCart() {
+        return toDTO(repo.save(new Cart()));
+    }
+
+    /** Projects the cart straight into DTOs with one query; no entities are loaded or dirty-checked. */
+    @Transactional(readOnly = true)
+    public CartDTO getCart(Long id) {
+        List<CartItemRow> rows = repo.findItemRowsByCartId(id);
+        if (rows.isEmpty()) {
+            throw new CartNotFoundException(id);
+        }
+        List<CartItemDTO> items = new ArrayList<>(rows.size());
+        for (CartItemRow row : rows) {
+            if (row.itemId() != null) {
+                items.add(toDTO(row));
+            }
+        }
+        CartDTO dto = new CartDTO();
+        dto.setId(id);
+        dto.setVersion(rows.get(0).cartVersion());
+        dto.setItems(items);
+        return dto;
+    }
+
+    /** Inserts one item row; the cart's existing items are not loaded. */
+    @Transactional
+    public CartDTO addItem(Long cartId, CartItem item) {
+        if (repo.incrementVersion(cartId) == 0) {
+            throw new CartNotFoundException(cartId);
+        }
+        item.setCart(repo.getReferenceById(cartId));
+        itemRepo.save(item);
+        return findCartWithItems(cartId);
+    }
+
+    /** Deletes one item row by (cartId, itemId); the cart's existing items are not loaded. */
+    @Transactional
+    public CartDTO removeItem(Long cartId, Long itemId) {
+        if (itemRepo.deleteByCartIdAndId(cartId, itemId) > 0) {
+            repo.incrementVersion(cartId);
+        }
+        return findCartWithItems(cartId);
+    }
+
+    /**
+     * Applies all operations against one loaded cart and writes them in a single flush, so the
+     * inserts go out as JDBC batches instead of one cart load and save per item.
+     */
+    @Transactional
+    public CartDTO applyItemBatch(Long cartId, List<CartItemOperationDTO> operations) {
+        if (repo.incrementVersion(cartId) == 0) {
+            throw new CartNotFoundException(cartId);
+        }
+        Cart cart = repo.findWithItemsById(cartId).orElseThrow(() -> new CartNotFoundException(cartId));
+        Map<Long, CartItem> itemsById = new HashMap<>();
+        for (CartItem item : cart.getItems()) {
+            itemsById.put(item.getId(), item);
+        }
+        for (CartItemOperationDTO op : operations) {
+            switch (op.getType()) {
+                case ADD -> {
+                    CartItem item = new CartItem();
+                    item.setProductName(op.getProductName());
+                    item.setPrice(op.getPrice());
+                    item.setQuantity(op.getQuantity());
+                    cart.addItem(item);
+                }
+                case UPDATE -> findItem(itemsById, cartId, op.getItemId()).setQuantity(op.getQuantity());
+                case REMOVE -> {
+                    CartItem item = findItem(itemsById, cartId, op.getItemId());
+                    itemsById.remove(item.getId());
+                    cart.getItems().remove(item);
+                }
+            }
+        }
+        return toDTO(repo.saveAndFlush(cart));
+    }
+
+    public Cart saveCart(Cart cart) {
+        return repo.save(cart);
+    }
+
+    private CartDTO findCartWithItems(Long cartId) {
+        Cart cart = repo.findWithItemsById(cartId).orElseThrow(() -> new CartNotFoundException(cartId));
+        return toDTO(cart);
+    }
+
+    private static CartItem findItem(Map<Long, CartItem> itemsById, Long cartId, Long itemId) {
+        CartItem item = itemId == null ? null : itemsById.get(itemId);
+        if (item == null) {
+            throw new CartItemNotFoundException(cartId, itemId);
+        }
+        return item;
+    }
+
+    private CartDTO toDTO(Cart cart) {
+        CartDTO dto = new CartDTO();
+        dto.setId(cart.getId());
+        dto.setVersion(cart.getVersion());
+        if (cart.getItems() != null) {
+            dto.setItems(cart.getItems().stream().map(this::toDTO).collect(Collectors.toList()));
+        }
+        return dto;
+    }
+
+    private CartItemDTO toDTO(CartItem item) {
+        CartItemDTO dto = new CartItemDTO();
+        dto.setId(item.getId());
+        dto.setProductName(item.getProductName());
+        dto.setPrice(item.getPrice());
+        dto.setQuantity(item.getQuantity());
+        return dto;
+    }
+
+    private CartItemDTO toDTO(CartItemRow row) {
+        CartItemDTO dto = new CartItemDTO();
+        dto.setId(row.itemId());
+        dto.setProductName(row.productName());
+        dto.setPrice(row.price());
+        dto.setQuantity(row.quantity());
+        return dto;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.cart;
+
+import com.example.cart.model.Cart;
+import com.example.cart.model.CartItem;
+import com.example.cart.repository.CartRepository;
+import com.example.persistence.PooledSequenceGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@ActiveProfiles("test")
+// Own database: sequences other contexts created with the default increment would fail the mismatch check
+@SpringBootTest(properties = {"grocery.id.allocation-size=10", "spring.datasource.url=jdbc:h2:mem:cart-id-allocation-db"})
+class CartIdAllocationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testAllocationSizeDrivesOptimizerAndSequence() {
+        // Arrange
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+        // Act
+        PooledSequenceGenerator cartIds = assertInstanceOf(PooledSequenceGenerator.class,
+                sessionFactory.getMappingMetamodel().getEntityDescriptor(Cart.class).getGenerator());
+        PooledSequenceGenerator itemIds = assertInstanceOf(PooledSequenceGenerator.class,
+                sessionFactory.getMappingMetamodel().getEntityDescriptor(CartItem.class).getGenerator());
+
+        // Assert
+        assertEquals(10, cartIds.getOptimizer().getIncrementSize());
+        assertEquals(10, itemIds.getOptimizer().getIncrementSize());
+        assertEquals(10L, jdbcTemplate.queryForObject(
+                "select increment from information_schema.sequences where sequence_name = 'CART_SEQ'", Long.class));
+    }
+
+    @Test
+    void testIdsAreUniqueAcrossAllocationBlocks() {
+        // Act
+        List<Cart> saved = cartRepository.saveAll(IntStream.range(0, 25).mapToObj(i -> new Cart()).toList());
+
+        // Assert
+        assertEquals(25, saved.stream().map(Cart::getId).distinct().count());
+    }
+}
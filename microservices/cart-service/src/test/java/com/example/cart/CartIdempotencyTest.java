@@ -0,0 +1,62 @@
+package com.example.cart;
+
+import com.example.cart.repository.CartRepository;
+import com.example.idempotency.IdempotencyStore;
+import com.example.idempotency.JdbcIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "grocery.idempotency.store=jdbc")
+@AutoConfigureMockMvc
+@WithMockUser
+class CartIdempotencyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testRetriedCreateReplaysFirstCartFromTable() throws Exception {
+        // Arrange
+        long before = cartRepository.count();
+
+        // Act
+        long first = createCart("mobile-retry-1");
+        long retried = createCart("mobile-retry-1");
+        long other = createCart("mobile-retry-2");
+
+        // Assert
+        assertInstanceOf(JdbcIdempotencyStore.class, idempotencyStore);
+        assertEquals(first, retried);
+        assertEquals(before + 2, cartRepository.count());
+        assertNotEquals(first, other);
+    }
+
+    private long createCart(String idempotencyKey) throws Exception {
+        String body = mockMvc.perform(post("/carts").header("Idempotency-Key", idempotencyKey))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
@@ -11,7 +11,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import com.example.cart.config.JwtRequestFilter;
+import com.example.security.GrocerySecurityAutoConfiguration;
+import com.example.security.JwtRequestFilter;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.test.context.TestConfiguration;
 
@@ -19,7 +20,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
-@ImportAutoConfiguration(exclude = com.example.cart.config.SecurityConfig.class)
+@ImportAutoConfiguration(exclude = GrocerySecurityAutoConfiguration.class)
 class SwaggerUiAvailabilityTest {
     @MockBean
     private JwtRequestFilter jwtRequestFilter;
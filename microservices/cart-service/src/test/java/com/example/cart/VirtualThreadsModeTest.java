@@ -0,0 +1,47 @@
+package com.example.cart;
+
+import com.example.threads.PinnedThreadMonitor;
+import com.example.threads.RequestConcurrencyLimitFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "grocery.threads=virtual")
+class VirtualThreadsModeTest {
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    private PinnedThreadMonitor pinnedThreadMonitor;
+
+    @Autowired
+    private FilterRegistrationBean<RequestConcurrencyLimitFilter> requestConcurrencyLimitFilter;
+
+    @Test
+    void testVirtualModeSwitchesSpringAndStarterPieces() throws Exception {
+        // Act
+        boolean asyncOnVirtualThread = CompletableFuture
+                .supplyAsync(() -> Thread.currentThread().isVirtual(), applicationTaskExecutor).get();
+
+        // Assert
+        assertEquals("true", environment.getProperty("spring.threads.virtual.enabled"));
+        assertEquals("5000", environment.getProperty("spring.datasource.hikari.connection-timeout"));
+        assertTrue(asyncOnVirtualThread);
+        assertTrue(pinnedThreadMonitor.isRunning());
+        assertTrue(requestConcurrencyLimitFilter.isEnabled());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.cart.benchmark;
+
+import com.example.cart.CartServiceApplication;
+import com.example.cart.model.Cart;
+import com.example.cart.model.CartItem;
+import com.example.cart.service.CartService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cart items per second stored through {@link CartService#saveCart}, one cart of
+ * {@value #ITEMS_PER_CALL} items per call, with JDBC batching off ({@code batchSize=1}) and on, and
+ * with ids fetched one per row ({@code allocationSize=1}) or in pooled blocks. Run from the module
+ * directory with the following, adding {@code -p profiles=test,postgres} to target a local Postgres:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main CartIngestionBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(CartIngestionBenchmark.ITEMS_PER_CALL)
+public class CartIngestionBenchmark {
+    static final int ITEMS_PER_CALL = 500;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    @Param({"1", "50"})
+    private int allocationSize;
+
+    @Param("test")
+    private String profiles;
+
+    private ConfigurableApplicationContext context;
+    private CartService cartService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CartServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profiles.split(","))
+                .properties("spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "grocery.id.allocation-size=" + allocationSize,
+                        "logging.level.root=WARN")
+                .run();
+        cartService = context.getBean(CartService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Cart saveCart() {
+        Cart cart = new Cart();
+        for (int i = 0; i < ITEMS_PER_CALL; i++) {
+            CartItem item = new CartItem();
+            item.setProductName("Item " + i);
+            item.setPrice(1.0);
+            item.setQuantity(1);
+            cart.addItem(item);
+        }
+        return cartService.saveCart(cart);
+    }
+}
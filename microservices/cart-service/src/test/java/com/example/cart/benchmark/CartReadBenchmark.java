@@ -0,0 +1,114 @@
+package com.example.cart.benchmark;
+
+import com.example.cart.CartServiceApplication;
+import com.example.cart.dto.CartDTO;
+import com.example.cart.dto.CartItemDTO;
+import com.example.cart.model.Cart;
+import com.example.cart.model.CartItem;
+import com.example.cart.repository.CartRepository;
+import com.example.cart.service.CartService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares reading a cart through managed entities (findById, then walking the lazy items) with
+ * the single-query DTO projection behind GET /carts/{id}. Statements per read are printed at setup;
+ * add {@code -prof gc} to the JMH arguments to compare allocations. Run from the module directory with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main CartReadBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartReadBenchmark {
+    @Param({"5", "50"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private CartService cartService;
+    private CartRepository cartRepository;
+    private TransactionTemplate transactionTemplate;
+    private Long cartId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CartServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.properties.hibernate.generate_statistics=true",
+                        "logging.level.root=WARN")
+                .run();
+        cartService = context.getBean(CartService.class);
+        cartRepository = context.getBean(CartRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        Cart cart = new Cart();
+        for (int i = 0; i < items; i++) {
+            CartItem item = new CartItem();
+            item.setProductName("Item " + i);
+            item.setPrice(1.0);
+            item.setQuantity(1);
+            cart.addItem(item);
+        }
+        cartId = cartRepository.save(cart).getId();
+
+        Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        report(statistics, "entity graph", this::entityGraphRead);
+        report(statistics, "projection", this::projectionRead);
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CartDTO entityGraphRead() {
+        return transactionTemplate.execute(status -> {
+            Cart cart = cartRepository.findById(cartId).orElseThrow();
+            CartDTO dto = new CartDTO();
+            dto.setId(cart.getId());
+            List<CartItemDTO> itemDtos = new ArrayList<>();
+            for (CartItem item : cart.getItems()) {
+                CartItemDTO itemDto = new CartItemDTO();
+                itemDto.setId(item.getId());
+                itemDto.setProductName(item.getProductName());
+                itemDto.setPrice(item.getPrice());
+                itemDto.setQuantity(item.getQuantity());
+                itemDtos.add(itemDto);
+            }
+            dto.setItems(itemDtos);
+            return dto;
+        });
+    }
+
+    @Benchmark
+    public CartDTO projectionRead() {
+        return cartService.getCartById(cartId);
+    }
+
+    private void report(Statistics statistics, String name, Supplier<CartDTO> read) {
+        statistics.clear();
+        read.get();
+        System.out.printf("%s read of %d items: %d statements, %d entities loaded%n",
+                name, items, statistics.getPrepareStatementCount(), statistics.getEntityLoadCount());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.cart.benchmark;
+
+import com.example.cart.CartServiceApplication;
+import com.example.cart.model.Cart;
+import com.example.cart.model.CartItem;
+import com.example.cart.repository.CartRepository;
+import com.example.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of {@code GET /carts/{id}} over loopback HTTP with {@code concurrency} requests in flight,
+ * comparing the platform Tomcat pool with {@code grocery.threads=virtual}. Every read is a database
+ * query, so this shows how each mode behaves once the connection pool is the bottleneck. Check the
+ * log for pinned-thread warnings in virtual mode. Run from the module directory with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main ThreadModeLoadBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThreadModeLoadBenchmark {
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"50", "400"})
+    private int concurrency;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private List<HttpRequest> requests;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CartServiceApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "grocery.threads=" + threads, "logging.level.root=WARN",
+                        "logging.level.com.example.threads=WARN")
+                .run();
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        String authorization = "Bearer " + context.getBean(JwtUtil.class).generateToken("benchmark");
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clientExecutor).build();
+
+        CartRepository cartRepository = context.getBean(CartRepository.class);
+        requests = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Cart cart = new Cart();
+            for (int j = 0; j < 5; j++) {
+                CartItem item = new CartItem();
+                item.setProductName("Item " + j);
+                item.setPrice(1.0);
+                item.setQuantity(1);
+                cart.addItem(item);
+            }
+            Long cartId = cartRepository.save(cart).getId();
+            requests.add(HttpRequest.newBuilder(URI.create(baseUrl + "/carts/" + cartId))
+                    .header("Authorization", authorization).GET().build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        clientExecutor.close();
+    }
+
+    /** One operation is {@code concurrency} requests sent together; throughput is in those rounds per second. */
+    @Benchmark
+    public int concurrentReads() {
+        List<CompletableFuture<HttpResponse<byte[]>>> responses = new ArrayList<>(requests.size());
+        for (HttpRequest request : requests) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()));
+        }
+        int bytes = 0;
+        for (CompletableFuture<HttpResponse<byte[]>> response : responses) {
+            HttpResponse<byte[]> completed = response.join();
+            if (completed.statusCode() != 200) {
+                throw new IllegalStateException("Unexpected status " + completed.statusCode());
+            }
+            bytes += completed.body().length;
+        }
+        return bytes;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.cart.config;
 
+import com.example.security.JwtRequestFilter;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -1,6 +1,5 @@
 package com.example.cart.controller;
 
-import com.example.cart.config.SecurityConfig;
 import com.example.cart.dto.CartDTO;
 import com.example.cart.model.Cart;
 import com.example.cart.service.CartService;
@@ -21,6 +20,9 @@ import org.springframework.test.context.ActiveProfiles;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -49,10 +51,6 @@ public class CartControllerTest {
             http.csrf().disable().authorizeHttpRequests().anyRequest().permitAll();
             return http.build();
         }
-        @Bean
-        public com.example.cart.config.JwtUtil jwtUtil() {
-            return new com.example.cart.config.JwtUtil();
-        }
     }
 
     @Test
@@ -81,4 +79,59 @@ public class CartControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1L));
     }
-} 
\ No newline at end of file
+
+    @Test
+    public void testCreateCartWithRepeatedIdempotencyKeyCreatesOneCart() throws Exception {
+        CartDTO returnedCart = new CartDTO();
+        returnedCart.setId(5L);
+        when(cartService.createCart()).thenReturn(returnedCart);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/carts").header("Idempotency-Key", "retry-1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(5L));
+        }
+        verify(cartService, times(1)).createCart();
+    }
+
+    @Test
+    public void testApplyItemBatch() throws Exception {
+        CartDTO cart = new CartDTO();
+        cart.setId(1L);
+
+        when(cartService.applyItemBatch(anyLong(), any())).thenReturn(cart);
+
+        mockMvc.perform(post("/carts/1/items:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[{\"type\":\"ADD\",\"productName\":\"Apple\",\"price\":1.5,\"quantity\":2}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1L));
+    }
+
+    @Test
+    public void testApplyItemBatchRejectsEmptyBatch() throws Exception {
+        mockMvc.perform(post("/carts/1/items:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.operations").exists());
+        verifyNoInteractions(cartService);
+    }
+
+    @Test
+    public void testApplyItemBatchRejectsInvalidOperations() throws Exception {
+        String[] invalid = {
+                "{\"type\":\"ADD\",\"productName\":\"Apple\",\"price\":-0.5,\"quantity\":1}",
+                "{\"type\":\"UPDATE\",\"itemId\":1,\"quantity\":0}",
+                "{\"type\":\"ADD\",\"price\":1.5,\"quantity\":1}",
+                "{\"itemId\":1}"
+        };
+        for (String operation : invalid) {
+            mockMvc.perform(post("/carts/1/items:batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"operations\":[" + operation + "]}"))
+                    .andExpect(status().isBadRequest());
+        }
+        verifyNoInteractions(cartService);
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.cart.controller;
+
+import com.example.cart.dto.CartDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the JDBC statements cart mutations need, so regressions back to per-item collection
+ * loads and rewrites show up as test failures.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@WithMockUser
+class CartLoadTest {
+    private static final int ITEMS = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void batchRequestWritesItemsWithFewerStatementsThanPerItemRequests() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Long perItemCart = createCart();
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITEMS; i++) {
+            mockMvc.perform(post("/carts/" + perItemCart + "/items")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"productName\":\"Item " + i + "\",\"price\":1.0,\"quantity\":1}"))
+                    .andExpect(status().isOk());
+        }
+        long perItemNanos = System.nanoTime() - start;
+        long perItemStatements = statistics.getPrepareStatementCount();
+
+        Long batchCart = createCart();
+        StringBuilder operations = new StringBuilder();
+        for (int i = 0; i < ITEMS; i++) {
+            operations.append(i == 0 ? "" : ",")
+                    .append("{\"type\":\"ADD\",\"productName\":\"Item ").append(i).append("\",\"price\":1.0,\"quantity\":1}");
+        }
+        statistics.clear();
+        start = System.nanoTime();
+        mockMvc.perform(post("/carts/" + batchCart + "/items:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[" + operations + "]}"))
+                .andExpect(status().isOk());
+        long batchNanos = System.nanoTime() - start;
+        long batchStatements = statistics.getPrepareStatementCount();
+
+        System.out.printf("%d items: per-item %d statements in %d ms, batch %d statements in %d ms%n",
+                ITEMS, perItemStatements, perItemNanos / 1_000_000, batchStatements, batchNanos / 1_000_000);
+        assertEquals(ITEMS, getCart(batchCart).getItems().size());
+        assertEquals(ITEMS, getCart(perItemCart).getItems().size());
+        assertTrue(batchStatements * 10 < perItemStatements,
+                "batch used " + batchStatements + " statements, per-item used " + perItemStatements);
+    }
+
+    @Test
+    void singleItemMutationsDoNotScaleWithCartSize() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Long cartId = createCart();
+        for (int i = 0; i < ITEMS; i++) {
+            addItem(cartId, "Item " + i);
+        }
+
+        statistics.clear();
+        CartDTO cart = addItem(cartId, "Extra");
+        long addStatements = statistics.getPrepareStatementCount();
+        assertEquals(ITEMS + 1, cart.getItems().size());
+
+        Long itemId = cart.getItems().get(0).getId();
+        statistics.clear();
+        String body = mockMvc.perform(delete("/carts/" + cartId + "/items/" + itemId))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        long removeStatements = statistics.getPrepareStatementCount();
+        assertEquals(ITEMS, objectMapper.readValue(body, CartDTO.class).getItems().size());
+
+        // version bump (which also proves the cart exists), insert and one fetch-joined select,
+        // plus the occasional sequence call
+        assertTrue(addStatements <= 4, "add used " + addStatements + " statements");
+        // one delete, a version bump and one fetch-joined select
+        assertEquals(3, removeStatements);
+    }
+
+    @Test
+    void cartReadIsOneProjectionQuery() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Long cartId = createCart();
+        for (int i = 0; i < 10; i++) {
+            addItem(cartId, "Item " + i);
+        }
+
+        statistics.clear();
+        assertEquals(10, getCart(cartId).getItems().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void conditionalGetAnswersNotModifiedWithoutAQuery() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Long cartId = createCart();
+        addItem(cartId, "Apple");
+        String eTag = mockMvc.perform(get("/carts/" + cartId)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        statistics.clear();
+        mockMvc.perform(get("/carts/" + cartId).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        addItem(cartId, "Pear");
+        String newETag = mockMvc.perform(get("/carts/" + cartId).header("If-None-Match", eTag))
+                .andExpect(status().isOk()).andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(eTag, newETag);
+    }
+
+    private CartDTO addItem(Long cartId, String productName) throws Exception {
+        String body = mockMvc.perform(post("/carts/" + cartId + "/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productName\":\"" + productName + "\",\"price\":1.0,\"quantity\":1}"))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, CartDTO.class);
+    }
+
+    private Long createCart() throws Exception {
+        String body = mockMvc.perform(post("/carts")).andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, CartDTO.class).getId();
+    }
+
+    private CartDTO getCart(Long id) throws Exception {
+        String body = mockMvc.perform(get("/carts/" + id)).andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, CartDTO.class);
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.cart.service;
 
+import com.example.cart.dto.CartItemOperationDTO;
+import com.example.cart.dto.CartItemRow;
+import com.example.cart.exception.CartItemNotFoundException;
+import com.example.cart.exception.CartNotFoundException;
 import com.example.cart.model.Cart;
 import com.example.cart.model.CartItem;
+import com.example.cart.repository.CartItemRepository;
 import com.example.cart.repository.CartRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -12,18 +18,21 @@ import static org.mockito.Mockito.times;
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.Optional;
 import java.util.ArrayList;
+import java.util.List;
 import org.springframework.test.context.ActiveProfiles;
 
 @ActiveProfiles("test")
 class CartServiceTest {
     private CartRepository cartRepository;
+    private CartItemRepository cartItemRepository;
     private CartService cartService;
     private Cart testCart;
 
     @BeforeEach
     void setUp() {
         cartRepository = Mockito.mock(CartRepository.class);
-        cartService = new CartService(cartRepository);
+        cartItemRepository = Mockito.mock(CartItemRepository.class);
+        cartService = new CartService(new JpaCartStore(cartRepository, cartItemRepository), new SimpleMeterRegistry());
         testCart = new Cart();
         testCart.setId(1L);
         testCart.setItems(new ArrayList<>());
@@ -44,12 +53,19 @@ class CartServiceTest {
     @Test
     void testGetCartById() {
         // Arrange
-        when(cartRepository.findById(1L)).thenReturn(Optional.of(testCart));
-        when(cartRepository.findById(2L)).thenReturn(Optional.empty());
+        when(cartRepository.findItemRowsByCartId(1L)).thenReturn(List.of(
+                new CartItemRow(1L, 0L, 10L, "Apple", 1.5, 2),
+                new CartItemRow(1L, 0L, 11L, "Pear", 2.0, 1)));
+        when(cartRepository.findItemRowsByCartId(2L)).thenReturn(List.of());
+        when(cartRepository.findItemRowsByCartId(3L)).thenReturn(List.of(new CartItemRow(3L, 0L, null, null, null, null)));
         // Act & Assert
         var foundCartDTO = cartService.getCartById(1L);
         assertNotNull(foundCartDTO);
         assertEquals(1L, foundCartDTO.getId());
+        assertEquals(2, foundCartDTO.getItems().size());
+        assertEquals("Pear", foundCartDTO.getItems().get(1).getProductName());
+        // A cart without items comes back as one row with null item columns
+        assertTrue(cartService.getCartById(3L).getItems().isEmpty());
         // Test not found scenario
         assertThrows(Exception.class, () -> cartService.getCartById(2L));
     }
@@ -61,13 +77,19 @@ class CartServiceTest {
         item.setProductName("Apple");
         item.setPrice(1.5);
         item.setQuantity(2);
-        // Do NOT add item to testCart.getItems() here!
-        when(cartRepository.findById(1L)).thenReturn(Optional.of(testCart));
-        when(cartRepository.save(Mockito.any(Cart.class))).thenReturn(testCart);
+        when(cartRepository.incrementVersion(1L)).thenReturn(1);
+        when(cartRepository.getReferenceById(1L)).thenReturn(testCart);
+        when(cartItemRepository.save(item)).then(invocation -> {
+            testCart.getItems().add(item);
+            return item;
+        });
+        when(cartRepository.findWithItemsById(1L)).thenReturn(Optional.of(testCart));
         // Act
         var updatedCartDTO = cartService.addItem(1L, item);
         // Assert
         assertNotNull(updatedCartDTO);
+        assertSame(testCart, item.getCart());
+        verify(cartRepository, times(0)).findById(1L);
         assertEquals(1, updatedCartDTO.getItems().size());
         assertEquals("Apple", updatedCartDTO.getItems().get(0).getProductName());
         assertEquals(2, updatedCartDTO.getItems().get(0).getQuantity());
@@ -81,14 +103,24 @@ class CartServiceTest {
         item.setProductName("Apple");
         item.setPrice(1.5);
         item.setQuantity(2);
-        testCart.getItems().add(item);
-        when(cartRepository.findById(1L)).thenReturn(Optional.of(testCart));
-        when(cartRepository.save(Mockito.any(Cart.class))).thenReturn(testCart);
+        when(cartItemRepository.deleteByCartIdAndId(1L, 1L)).thenReturn(1);
+        when(cartRepository.findWithItemsById(1L)).thenReturn(Optional.of(testCart));
         // Act
         var updatedCartDTO = cartService.removeItem(1L, 1L);
         // Assert
         assertNotNull(updatedCartDTO);
-        verify(cartRepository, times(1)).save(Mockito.any(Cart.class));
+        verify(cartItemRepository, times(1)).deleteByCartIdAndId(1L, 1L);
+        verify(cartRepository, times(1)).incrementVersion(1L);
+        verify(cartRepository, times(0)).findById(1L);
+    }
+
+    @Test
+    void testAddItemToMissingCart() {
+        // Arrange
+        when(cartRepository.incrementVersion(2L)).thenReturn(0);
+        // Act & Assert
+        assertThrows(CartNotFoundException.class, () -> cartService.addItem(2L, new CartItem()));
+        verify(cartItemRepository, times(0)).save(Mockito.any(CartItem.class));
     }
 
     @Test
@@ -102,4 +134,52 @@ class CartServiceTest {
         assertEquals(1L, savedCart.getId());
         verify(cartRepository, times(1)).save(Mockito.any(Cart.class));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testApplyItemBatch() {
+        // Arrange
+        CartItem existing = new CartItem();
+        existing.setId(1L);
+        existing.setProductName("Apple");
+        existing.setQuantity(1);
+        CartItem removed = new CartItem();
+        removed.setId(2L);
+        removed.setProductName("Pear");
+        removed.setQuantity(1);
+        testCart.getItems().add(existing);
+        testCart.getItems().add(removed);
+        when(cartRepository.incrementVersion(1L)).thenReturn(1);
+        when(cartRepository.findWithItemsById(1L)).thenReturn(Optional.of(testCart));
+        when(cartRepository.saveAndFlush(Mockito.any(Cart.class))).thenReturn(testCart);
+        // Act
+        var updatedCartDTO = cartService.applyItemBatch(1L, List.of(
+                operation(CartItemOperationDTO.Type.ADD, null, "Banana", 3),
+                operation(CartItemOperationDTO.Type.UPDATE, 1L, null, 5),
+                operation(CartItemOperationDTO.Type.REMOVE, 2L, null, null)));
+        // Assert
+        assertEquals(2, updatedCartDTO.getItems().size());
+        assertEquals(5, updatedCartDTO.getItems().get(0).getQuantity());
+        assertEquals("Banana", updatedCartDTO.getItems().get(1).getProductName());
+        verify(cartRepository, times(1)).saveAndFlush(testCart);
+    }
+
+    @Test
+    void testApplyItemBatchUnknownItem() {
+        // Arrange
+        when(cartRepository.incrementVersion(1L)).thenReturn(1);
+        when(cartRepository.findWithItemsById(1L)).thenReturn(Optional.of(testCart));
+        // Act & Assert
+        assertThrows(CartItemNotFoundException.class, () -> cartService.applyItemBatch(1L,
+                List.of(operation(CartItemOperationDTO.Type.REMOVE, 99L, null, null))));
+        verify(cartRepository, times(0)).saveAndFlush(Mockito.any(Cart.class));
+    }
+
+    private static CartItemOperationDTO operation(CartItemOperationDTO.Type type, Long itemId, String productName, Integer quantity) {
+        CartItemOperationDTO op = new CartItemOperationDTO();
+        op.setType(type);
+        op.setItemId(itemId);
+        op.setProductName(productName);
+        op.setQuantity(quantity);
+        return op;
+    }
+}
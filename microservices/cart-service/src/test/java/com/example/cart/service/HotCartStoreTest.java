@@ -0,0 +1,110 @@
+package com.example.cart.service;
+
+import com.example.cart.dto.CartDTO;
+import com.example.cart.dto.CartItemOperationDTO;
+import com.example.cart.model.CartItem;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "cart.store.mode=memory",
+        "cart.store.flush-interval=1h",
+        "cart.store.fallback-file=target/cart-write-behind-test.json"
+})
+class HotCartStoreTest {
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private HotCartStore hotCartStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testMutationsAreAcknowledgedFromMemoryAndCoalescedOnFlush() {
+        // Arrange
+        Long cartId = cartService.createCart().getId();
+        // Act
+        Long apple = cartService.addItem(cartId, item("Apple", 2)).getItems().get(0).getId();
+        Long pear = cartService.addItem(cartId, item("Pear", 1)).getItems().get(1).getId();
+        cartService.removeItem(cartId, apple);
+        CartItemOperationDTO update = new CartItemOperationDTO();
+        update.setType(CartItemOperationDTO.Type.UPDATE);
+        update.setItemId(pear);
+        update.setQuantity(4);
+        CartDTO cart = cartService.applyItemBatch(cartId, List.of(update));
+        // Assert
+        assertEquals(1, cart.getItems().size());
+        assertEquals(0, rowCount(cartId));
+        hotCartStore.flush();
+        assertEquals(1, rowCount(cartId));
+        assertEquals(4, jdbcTemplate.queryForObject("select quantity from cart_item where id = ?", Integer.class, pear));
+        assertEquals(4, cartService.getCartById(cartId).getItems().get(0).getQuantity());
+    }
+
+    @Test
+    void testHotCartRequestsDoNotOpenTransactions() {
+        // Arrange
+        Long cartId = cartService.createCart().getId();
+        clearInvocations(transactionManager);
+        // Act
+        Long itemId = cartService.addItem(cartId, item("Bread", 1)).getItems().get(0).getId();
+        CartItemOperationDTO update = new CartItemOperationDTO();
+        update.setType(CartItemOperationDTO.Type.UPDATE);
+        update.setItemId(itemId);
+        update.setQuantity(2);
+        cartService.applyItemBatch(cartId, List.of(update));
+        cartService.getCartById(cartId);
+        cartService.removeItem(cartId, itemId);
+        // Assert
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void testUnflushedChangesAreReplayedFromFallbackFile() throws Exception {
+        // Arrange
+        Path fallback = Path.of("target/cart-write-behind-test.json");
+        Long cartId = cartService.createCart().getId();
+        cartService.addItem(cartId, item("Milk", 1));
+        // Act
+        hotCartStore.dumpPendingToFallback();
+        assertTrue(Files.exists(fallback));
+        assertEquals(0, rowCount(cartId));
+        hotCartStore.replayFallback();
+        // Assert
+        assertEquals(1, rowCount(cartId));
+        assertFalse(Files.exists(fallback));
+    }
+
+    private int rowCount(Long cartId) {
+        return jdbcTemplate.queryForObject("select count(*) from cart_item where cart_id = ?", Integer.class, cartId);
+    }
+
+    private static CartItem item(String productName, int quantity) {
+        CartItem item = new CartItem();
+        item.setProductName(productName);
+        item.setPrice(1.0);
+        item.setQuantity(quantity);
+        return item;
+    }
+}
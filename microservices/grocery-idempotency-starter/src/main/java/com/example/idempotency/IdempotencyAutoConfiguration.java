@@ -0,0 +1,53 @@
+package com.example.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * {@link IdempotencyService} for services that accept an {@code Idempotency-Key} on create
+ * endpoints. Responses are kept in memory unless {@code grocery.idempotency.store=jdbc}.
+ */
+@AutoConfiguration(after = {JacksonAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public IdempotencyService idempotencyService(IdempotencyStore store, ObjectProvider<ObjectMapper> objectMapper,
+                                                 IdempotencyProperties properties,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        return new IdempotencyService(store, objectMapper.getIfAvailable(ObjectMapper::new), properties,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(IdempotencyStore.class)
+    public IdempotencyStore inMemoryIdempotencyStore(IdempotencyProperties properties) {
+        return new InMemoryIdempotencyStore(properties.getMaxEntries());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(JdbcTemplate.class)
+    @ConditionalOnProperty(name = "grocery.idempotency.store", havingValue = "jdbc")
+    static class JdbcStoreConfiguration {
+
+        @Bean
+        @ConditionalOnBean(JdbcTemplate.class)
+        public IdempotencyStore jdbcIdempotencyStore(JdbcTemplate jdbcTemplate) {
+            return new JdbcIdempotencyStore(jdbcTemplate);
+        }
+    }
+}
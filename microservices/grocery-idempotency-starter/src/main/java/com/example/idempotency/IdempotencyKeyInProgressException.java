@@ -0,0 +1,8 @@
+package com.example.idempotency;
+
+/** The first request with this key is still running after the in-flight timeout; services answer 409. */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+    public IdempotencyKeyInProgressException() {
+        super("Request with the same " + IdempotencyService.HEADER + " is still in progress");
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.idempotency;
+
+/** The key was first used with a different request body; services answer 422. */
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException() {
+        super(IdempotencyService.HEADER + " was already used with a different request body");
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "grocery.idempotency")
+public class IdempotencyProperties {
+    /** How long a completed response is replayed for a repeated {@code Idempotency-Key}. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /** Maximum number of responses kept by the in-memory store. */
+    private int maxEntries = 10_000;
+
+    /** Where responses are kept: {@code memory} (per instance) or {@code jdbc} (shared table). */
+    private Store store = Store.MEMORY;
+
+    /** How long a duplicate waits for the in-flight request with the same key before giving up. */
+    private Duration inFlightTimeout = Duration.ofSeconds(30);
+
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+
+    public Store getStore() { return store; }
+    public void setStore(Store store) { this.store = store; }
+
+    public Duration getInFlightTimeout() { return inFlightTimeout; }
+    public void setInFlightTimeout(Duration inFlightTimeout) { this.inFlightTimeout = inFlightTimeout; }
+
+    public enum Store { MEMORY, JDBC }
+}
@@ -0,0 +1,172 @@
+package com.example.idempotency;
+
+import com.example.idempotency.IdempotencyStore.StoredResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a create operation at most once per {@code Idempotency-Key}. Keys are scoped to the
+ * authenticated user and the operation, a completed response is stored as JSON and replayed for
+ * the TTL, and a duplicate that arrives while the first request is still running waits for its
+ * result instead of executing again. Failures are not stored, so a failed request can be retried.
+ * <p>
+ * A digest of the request body is kept with the key: reusing the key with a different body throws
+ * {@link IdempotencyKeyReusedException}, and a duplicate that outwaits the in-flight timeout throws
+ * {@link IdempotencyKeyInProgressException}.
+ */
+public class IdempotencyService {
+    public static final String HEADER = "Idempotency-Key";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration inFlightTimeout;
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter joined;
+
+    public IdempotencyService(IdempotencyStore store, ObjectMapper objectMapper, IdempotencyProperties properties,
+                              MeterRegistry registry) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.ttl = properties.getTtl();
+        this.inFlightTimeout = properties.getInFlightTimeout();
+        this.executed = requests(registry, "executed", "Idempotent requests executed for a new key");
+        this.replayed = requests(registry, "replayed", "Repeated keys answered from the stored response");
+        this.joined = requests(registry, "joined", "Duplicates that waited for the in-flight request with the same key");
+    }
+
+    private static Counter requests(MeterRegistry registry, String result, String description) {
+        return Counter.builder("idempotency.requests").tag("result", result).description(description).register(registry);
+    }
+
+    private record InFlight(String requestDigest, CompletableFuture<String> response) {}
+
+    /** {@link #execute(String, String, Object, Class, Supplier)} for a request without a body. */
+    public <T> T execute(String key, String operation, Class<T> type, Supplier<T> action) {
+        return execute(key, operation, null, type, action);
+    }
+
+    /**
+     * Returns the stored result for {@code key}, or runs {@code action} and stores its result.
+     * {@code request} is the request body, compared by digest with the one the key was first used
+     * with. Without a key the action simply runs.
+     */
+    public <T> T execute(String key, String operation, Object request, Class<T> type, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+        String digest = digest(principal() + '\n' + operation + '\n' + key);
+        String requestDigest = digest(write(request));
+
+        StoredResponse stored = store.find(digest);
+        if (stored != null) {
+            return replay(stored, requestDigest, type);
+        }
+        InFlight pending = new InFlight(requestDigest, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(digest, pending);
+        if (running != null) {
+            if (!running.requestDigest().equals(requestDigest)) {
+                throw new IdempotencyKeyReusedException();
+            }
+            joined.increment();
+            return read(await(running.response()), type);
+        }
+        try {
+            // Another instance (or a request that finished just before we registered) may have stored it.
+            stored = store.find(digest);
+            if (stored != null) {
+                T result = replay(stored, requestDigest, type);
+                pending.response().complete(stored.response());
+                return result;
+            }
+            executed.increment();
+            T result = action.get();
+            String response = write(result);
+            store.save(digest, new StoredResponse(requestDigest, response), Instant.now().plus(ttl));
+            pending.response().complete(response);
+            return result;
+        } catch (RuntimeException | Error e) {
+            pending.response().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(digest, pending);
+        }
+    }
+
+    private <T> T replay(StoredResponse stored, String requestDigest, Class<T> type) {
+        if (!stored.requestDigest().equals(requestDigest)) {
+            throw new IdempotencyKeyReusedException();
+        }
+        replayed.increment();
+        return read(stored.response(), type);
+    }
+
+    private String await(CompletableFuture<String> running) {
+        try {
+            return running.get(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a duplicate request", e);
+        }
+    }
+
+    private <T> T read(String response, Class<T> type) {
+        try {
+            return objectMapper.readValue(response, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is not readable as " + type.getSimpleName(), e);
+        }
+    }
+
+    private String write(Object result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response cannot be stored for replay", e);
+        }
+    }
+
+    private static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "";
+    }
+
+    private static String digest(String scopedKey) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(scopedKey.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.idempotency;
+
+import java.time.Instant;
+
+/** Completed responses keyed by the digest of a scoped idempotency key. */
+public interface IdempotencyStore {
+
+    /** A response together with the digest of the request body that produced it. */
+    record StoredResponse(String requestDigest, String response) {}
+
+    /** Returns the stored response, or {@code null} if the key is unknown or expired. */
+    StoredResponse find(String key);
+
+    /** Stores a response; if the key already has one, the first response wins. */
+    void save(String key, StoredResponse stored, Instant expiresAt);
+}
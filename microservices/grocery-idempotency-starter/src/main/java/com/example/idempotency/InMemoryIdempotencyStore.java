@@ -0,0 +1,57 @@
+package com.example.idempotency;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Per-instance store bounded to {@code maxEntries}, evicting expired entries first. */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public InMemoryIdempotencyStore(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public StoredResponse find(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.stored();
+    }
+
+    @Override
+    public void save(String key, StoredResponse stored, Instant expiresAt) {
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.putIfAbsent(key, new Entry(stored, expiresAt.toEpochMilli()));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        // Free a tenth of the capacity at once so a full store does not pay for a sweep on every save.
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Entry(StoredResponse stored, long expiresAtMillis) {}
+}
@@ -0,0 +1,59 @@
+package com.example.idempotency;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stores responses in an {@code idempotency_key} table so a retry that lands on another instance
+ * is still replayed. Expired rows are purged from the write path at most once a minute.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore {
+    private static final long PURGE_INTERVAL_MILLIS = Duration.ofMinutes(1).toMillis();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicLong nextPurgeMillis = new AtomicLong();
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        jdbcTemplate.execute("create table if not exists idempotency_key ("
+                + "key_digest varchar(64) primary key, "
+                + "request_digest varchar(64) not null, "
+                + "response text not null, "
+                + "expires_at bigint not null)");
+    }
+
+    @Override
+    public StoredResponse find(String key) {
+        List<StoredResponse> responses = jdbcTemplate.query(
+                "select request_digest, response from idempotency_key where key_digest = ? and expires_at > ?",
+                (rs, row) -> new StoredResponse(rs.getString("request_digest"), rs.getString("response")),
+                key, System.currentTimeMillis());
+        return responses.isEmpty() ? null : responses.get(0);
+    }
+
+    @Override
+    public void save(String key, StoredResponse stored, Instant expiresAt) {
+        purgeExpired();
+        jdbcTemplate.update("delete from idempotency_key where key_digest = ? and expires_at <= ?",
+                key, System.currentTimeMillis());
+        try {
+            jdbcTemplate.update("insert into idempotency_key (key_digest, request_digest, response, expires_at) "
+                    + "values (?, ?, ?, ?)", key, stored.requestDigest(), stored.response(), expiresAt.toEpochMilli());
+        } catch (DuplicateKeyException e) {
+            // Another instance finished the same request first; its response is the one replayed.
+        }
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        long next = nextPurgeMillis.get();
+        if (now >= next && nextPurgeMillis.compareAndSet(next, now + PURGE_INTERVAL_MILLIS)) {
+            jdbcTemplate.update("delete from idempotency_key where expires_at <= ?", now);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyServiceTest {
+    private SimpleMeterRegistry registry;
+    private IdempotencyProperties properties;
+    private InMemoryIdempotencyStore store;
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        properties = new IdempotencyProperties();
+        properties.setInFlightTimeout(Duration.ofSeconds(5));
+        store = new InMemoryIdempotencyStore(100);
+        service = new IdempotencyService(store, new ObjectMapper(), properties, registry);
+        authenticate("alice");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testRepeatedKeyReplaysStoredResponse() {
+        AtomicInteger calls = new AtomicInteger();
+
+        Map<?, ?> first = service.execute("k1", "POST /carts", Map.class, () -> Map.of("id", calls.incrementAndGet()));
+        Map<?, ?> second = service.execute("k1", "POST /carts", Map.class, () -> Map.of("id", calls.incrementAndGet()));
+
+        assertEquals(1, calls.get());
+        assertEquals(first, second);
+        assertEquals(1.0, registry.get("idempotency.requests").tag("result", "replayed").counter().count());
+    }
+
+    @Test
+    void testKeysAreScopedToUserAndOperation() {
+        AtomicInteger calls = new AtomicInteger();
+
+        service.execute("k1", "POST /carts", Map.class, () -> Map.of("id", calls.incrementAndGet()));
+        service.execute("k1", "POST /orders", Map.class, () -> Map.of("id", calls.incrementAndGet()));
+        authenticate("bob");
+        service.execute("k1", "POST /carts", Map.class, () -> Map.of("id", calls.incrementAndGet()));
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testConcurrentDuplicatesJoinInFlightExecution() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Map<?, ?>> first = CompletableFuture.supplyAsync(() -> {
+            authenticate("alice");
+            return service.execute("k1", "POST /orders", Map.class, () -> {
+                started.countDown();
+                await(release);
+                return Map.of("id", calls.incrementAndGet());
+            });
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Map<?, ?>> duplicate = CompletableFuture.supplyAsync(() -> {
+            authenticate("alice");
+            return service.execute("k1", "POST /orders", Map.class, () -> Map.of("id", calls.incrementAndGet()));
+        });
+        while (registry.get("idempotency.requests").tag("result", "joined").counter().count() < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertEquals(first.get(5, TimeUnit.SECONDS), duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testKeyReusedWithAnotherBodyIsRejected() {
+        AtomicInteger calls = new AtomicInteger();
+
+        service.execute("k1", "POST /orders", Map.of("total", 10), Map.class, () -> Map.of("id", calls.incrementAndGet()));
+        Map<?, ?> replay = service.execute("k1", "POST /orders", Map.of("total", 10), Map.class,
+                () -> Map.of("id", calls.incrementAndGet()));
+
+        assertEquals(1, replay.get("id"));
+        assertThrows(IdempotencyKeyReusedException.class, () -> service.execute("k1", "POST /orders",
+                Map.of("total", 99), Map.class, () -> Map.of("id", calls.incrementAndGet())));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testDuplicateThatOutwaitsTheFirstRequestIsAConflict() throws Exception {
+        properties.setInFlightTimeout(Duration.ofMillis(50));
+        service = new IdempotencyService(store, new ObjectMapper(), properties, registry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Map<?, ?>> first = CompletableFuture.supplyAsync(() -> {
+            authenticate("alice");
+            return service.execute("k1", "POST /orders", Map.class, () -> {
+                started.countDown();
+                await(release);
+                return Map.of("id", 1);
+            });
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        try {
+            assertThrows(IdempotencyKeyInProgressException.class,
+                    () -> service.execute("k1", "POST /orders", Map.class, () -> Map.of("id", 2)));
+        } finally {
+            release.countDown();
+        }
+        assertEquals(1, first.get(5, TimeUnit.SECONDS).get("id"));
+    }
+
+    @Test
+    void testFailureIsNotStored() {
+        assertThrows(IllegalStateException.class, () -> service.execute("k1", "POST /orders", Map.class, () -> {
+            throw new IllegalStateException("database unavailable");
+        }));
+
+        Map<?, ?> retried = service.execute("k1", "POST /orders", Map.class, () -> Map.of("id", 7));
+
+        assertEquals(7, retried.get("id"));
+    }
+
+    @Test
+    void testExpiredResponseIsExecutedAgain() {
+        properties.setTtl(Duration.ZERO);
+        service = new IdempotencyService(store, new ObjectMapper(), properties, new SimpleMeterRegistry());
+        AtomicInteger calls = new AtomicInteger();
+
+        service.execute("k1", "POST /carts", Map.class, () -> Map.of("id", calls.incrementAndGet()));
+        service.execute("k1", "POST /carts", Map.class, () -> Map.of("id", calls.incrementAndGet()));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testRequestsWithoutKeyAlwaysExecuteAndOversizedKeysAreRejected() {
+        AtomicInteger calls = new AtomicInteger();
+
+        service.execute(null, "POST /carts", Map.class, () -> Map.of("id", calls.incrementAndGet()));
+        service.execute(null, "POST /carts", Map.class, () -> Map.of("id", calls.incrementAndGet()));
+
+        assertEquals(2, calls.get());
+        assertEquals(0, store.size());
+        assertThrows(IllegalArgumentException.class, () -> service.execute(
+                "x".repeat(IdempotencyService.MAX_KEY_LENGTH + 1), "POST /carts", Map.class, Map::of));
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.persistence;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Generates ids from the named database sequence with a pooled optimizer, so Hibernate fetches a
+ * block of {@code grocery.id.allocation-size} ids per sequence call and can batch inserts, which
+ * {@code IDENTITY} ids rule out.
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface PooledSequence {
+    /** Name of the database sequence. */
+    String value();
+}
@@ -0,0 +1,20 @@
+package com.example.persistence;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+
+/** Passes {@code grocery.id.allocation-size} to {@link PooledSequenceGenerator} in services that use JPA. */
+@AutoConfiguration(before = HibernateJpaAutoConfiguration.class)
+@ConditionalOnClass(name = "org.hibernate.id.enhanced.SequenceStyleGenerator")
+public class PooledSequenceAutoConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer pooledSequenceAllocationSize(
+            @Value("${grocery.id.allocation-size:" + PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE + "}") int allocationSize) {
+        return properties -> properties.putIfAbsent(PooledSequenceGenerator.ALLOCATION_SIZE_SETTING, allocationSize);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.persistence;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+/**
+ * {@link SequenceStyleGenerator} behind {@link PooledSequence}. The block size comes from the
+ * {@value #ALLOCATION_SIZE_SETTING} Hibernate setting, which {@code grocery.id.allocation-size}
+ * feeds; it has to match the sequence's {@code INCREMENT BY} in an existing database.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+    public static final String ALLOCATION_SIZE_SETTING = "grocery.id.allocation_size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    // Hibernate 6.4 does not call configure() on @IdGeneratorType generators, so the constructor does.
+    public PooledSequenceGenerator(PooledSequence config, Member member, CustomIdGeneratorCreationContext context) {
+        ServiceRegistry serviceRegistry = context.getServiceRegistry();
+        int allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+        if (allocationSize < 1) {
+            throw new MappingException(ALLOCATION_SIZE_SETTING + " must be at least 1");
+        }
+        Properties params = new Properties();
+        params.setProperty(SEQUENCE_PARAM, config.value());
+        params.setProperty(OptimizableGenerator.INCREMENT_PARAM, Integer.toString(allocationSize));
+        params.setProperty(OptimizableGenerator.OPT_PARAM, StandardOptimizerDescriptor.POOLED.getExternalName());
+        if (context.getDefaultSchema() != null) {
+            params.setProperty(PersistentIdentifierGenerator.SCHEMA, context.getDefaultSchema());
+        }
+        if (context.getDefaultCatalog() != null) {
+            params.setProperty(PersistentIdentifierGenerator.CATALOG, context.getDefaultCatalog());
+        }
+        configure(context.getProperty().getType(), params, serviceRegistry);
+    }
+}
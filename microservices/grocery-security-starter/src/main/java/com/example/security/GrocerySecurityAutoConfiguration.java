@@ -0,0 +1,90 @@
+package com.example.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+/**
+ * Stateless JWT security shared by all grocery services. Every bean backs off when the service
+ * (or a test) defines its own, so a custom {@link SecurityFilterChain} replaces the default one.
+ * With {@code jwt.enabled=false} no token is required; no packaged profile sets it.
+ */
+@AutoConfiguration(before = SecurityAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(JwtProperties.class)
+@EnableWebSecurity
+public class GrocerySecurityAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtUtil jwtUtil(JwtProperties properties) {
+        return new JwtUtil(properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtRequestFilter jwtRequestFilter(JwtUtil jwtUtil, JwtProperties properties,
+                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        return new JwtRequestFilter(jwtUtil, properties, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    // The filter only runs inside the security chain; without this Boot would also register it
+    // with the servlet container and every request would pass through it twice.
+    @Bean
+    public FilterRegistrationBean<JwtRequestFilter> jwtRequestFilterRegistration(JwtRequestFilter jwtRequestFilter) {
+        FilterRegistrationBean<JwtRequestFilter> registration = new FilterRegistrationBean<>(jwtRequestFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthController authController(JwtUtil jwtUtil) {
+        return new AuthController(jwtUtil);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(SecurityFilterChain.class)
+    @ConditionalOnProperty(name = "jwt.enabled", matchIfMissing = true)
+    public SecurityFilterChain jwtSecurityFilterChain(HttpSecurity http, JwtRequestFilter jwtRequestFilter,
+                                                      JwtProperties properties) throws Exception {
+        RequestMatcher[] publicPaths = properties.getPublicPaths().stream()
+                .map(path -> AntPathRequestMatcher.antMatcher(path + "/**"))
+                .toArray(RequestMatcher[]::new);
+        http
+            .csrf(csrf -> csrf.disable())
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers(publicPaths).permitAll()
+                .anyRequest().authenticated()
+            )
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+        http.addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+        return http.build();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(SecurityFilterChain.class)
+    @ConditionalOnProperty(name = "jwt.enabled", havingValue = "false")
+    public SecurityFilterChain openSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+            .csrf(csrf -> csrf.disable())
+            .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+        return http.build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+    /** Whether requests must carry a valid token; {@code false} leaves every path open. */
+    private boolean enabled = true;
+
+    /** Base64-encoded HMAC key used to sign and verify tokens. */
+    private String secret;
+
+    /** Lifetime of tokens issued by {@code /auth/login}. */
+    private Duration expiration = Duration.ofHours(10);
+
+    /** Path prefixes that are reachable without a token and bypass the JWT filter entirely. */
+    private List<String> publicPaths = new ArrayList<>(List.of(
+            "/auth",
+            "/swagger-ui",
+            "/v3/api-docs",
+            "/swagger-resources",
+            "/webjars",
+            "/actuator/health"));
+
+    private final Cache cache = new Cache();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getSecret() { return secret; }
+    public void setSecret(String secret) { this.secret = secret; }
+
+    public Duration getExpiration() { return expiration; }
+    public void setExpiration(Duration expiration) { this.expiration = expiration; }
+
+    public List<String> getPublicPaths() { return publicPaths; }
+    public void setPublicPaths(List<String> publicPaths) { this.publicPaths = publicPaths; }
+
+    public Cache getCache() { return cache; }
+
+    public static class Cache {
+        /** Maximum number of verified tokens kept in memory. */
+        private int maxSize = 10_000;
+
+        public int getMaxSize() { return maxSize; }
+        public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+public class JwtRequestFilter extends OncePerRequestFilter {
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+    private final String[] publicPaths;
+    private final VerifiedTokenCache tokenCache;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Timer verificationTimer;
+
+    public JwtRequestFilter(JwtUtil jwtUtil, JwtProperties properties, MeterRegistry registry) {
+        this.jwtUtil = jwtUtil;
+        this.publicPaths = properties.getPublicPaths().toArray(new String[0]);
+        this.tokenCache = new VerifiedTokenCache(properties.getCache().getMaxSize());
+        this.cacheHits = Counter.builder("jwt.cache.gets").tag("result", "hit")
+                .description("Bearer tokens resolved from the verified-token cache").register(registry);
+        this.cacheMisses = Counter.builder("jwt.cache.gets").tag("result", "miss")
+                .description("Bearer tokens that required signature verification").register(registry);
+        Gauge.builder("jwt.cache.size", tokenCache, VerifiedTokenCache::size).register(registry);
+        Gauge.builder("jwt.cache.hit.ratio", this, JwtRequestFilter::hitRatio).register(registry);
+        this.verificationTimer = Timer.builder("jwt.verification")
+                .description("Time spent parsing and verifying bearer tokens on a cache miss").register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (String publicPath : publicPaths) {
+            if (path.startsWith(publicPath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        final String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String username = resolveUsername(authHeader.substring(BEARER_PREFIX.length()));
+            if (username != null) {
+                SecurityContextHolder.getContext().setAuthentication(
+                        UsernamePasswordAuthenticationToken.authenticated(username, null, Collections.emptyList()));
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private String resolveUsername(String jwt) {
+        ByteBuffer key = VerifiedTokenCache.keyFor(jwt);
+        String username = tokenCache.get(key);
+        if (username != null) {
+            cacheHits.increment();
+            return username;
+        }
+        cacheMisses.increment();
+        long start = System.nanoTime();
+        try {
+            Claims claims = jwtUtil.parseClaims(jwt);
+            tokenCache.put(key, claims.getSubject(), claims.getExpiration());
+            return claims.getSubject();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        } finally {
+            verificationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private double hitRatio() {
+        double hits = cacheHits.count();
+        double total = hits + cacheMisses.count();
+        return total == 0 ? 0 : hits / total;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.security;
+
+import io.jsonwebtoken.*;
+import io.jsonwebtoken.impl.TextCodec;
+import java.security.Key;
+import java.util.Date;
+import javax.crypto.spec.SecretKeySpec;
+
+public class JwtUtil {
+    private final Key signingKey;
+    // Configured once here and only read afterwards, so it is safe to share between request threads.
+    private final JwtParser parser;
+    private final long expirationMillis;
+
+    public JwtUtil(JwtProperties properties) {
+        if (properties.getSecret() == null || properties.getSecret().isBlank()) {
+            throw new IllegalStateException("jwt.secret must be set");
+        }
+        signingKey = new SecretKeySpec(TextCodec.BASE64.decode(properties.getSecret()), SignatureAlgorithm.HS256.getJcaName());
+        parser = Jwts.parser().setSigningKey(signingKey);
+        expirationMillis = properties.getExpiration().toMillis();
+    }
+
+    /** Lifetime of the tokens {@link #generateToken} issues. */
+    public long getExpirationMillis() {
+        return expirationMillis;
+    }
+
+    public String generateToken(String username) {
+        return Jwts.builder()
+                .setSubject(username)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + expirationMillis))
+                .signWith(SignatureAlgorithm.HS256, signingKey)
+                .compact();
+    }
+
+    /**
+     * Parses and verifies the token in a single pass.
+     *
+     * @throws JwtException if the signature is invalid or the token has expired
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    public String extractUsername(String token) {
+        return parseClaims(token).getSubject();
+    }
+
+    public boolean validateToken(String token) {
+        try {
+            parseClaims(token);
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.security;
+
+/**
+ * The token a service presents when it calls another one. It is signed once and reused until a
+ * tenth of its lifetime (at most a minute) is left, so an outbound call does not pay for an HMAC
+ * signature. Threads racing at a refresh may each sign one; any of them is valid.
+ */
+public class ServiceToken {
+    private static final long MAX_REFRESH_MARGIN_MILLIS = 60_000;
+
+    private final JwtUtil jwtUtil;
+    private final String subject;
+    private final long refreshMarginMillis;
+    private volatile Issued issued;
+
+    public ServiceToken(JwtUtil jwtUtil, String subject) {
+        this.jwtUtil = jwtUtil;
+        this.subject = subject;
+        this.refreshMarginMillis = Math.min(MAX_REFRESH_MARGIN_MILLIS, jwtUtil.getExpirationMillis() / 10);
+    }
+
+    public String get() {
+        Issued current = issued;
+        long now = System.currentTimeMillis();
+        if (current == null || now >= current.refreshAtMillis()) {
+            current = new Issued(jwtUtil.generateToken(subject),
+                    now + jwtUtil.getExpirationMillis() - refreshMarginMillis);
+            issued = current;
+        }
+        return current.token();
+    }
+
+    private record Issued(String token, long refreshAtMillis) {}
+}
@@ -0,0 +1,80 @@
+package com.example.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of tokens whose signature has already been verified, keyed by the SHA-256 digest
+ * of the raw token so the tokens themselves are never retained. Entries expire together with the
+ * token they were created from.
+ */
+public class VerifiedTokenCache {
+    private final ConcurrentHashMap<ByteBuffer, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public VerifiedTokenCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        this.maxSize = maxSize;
+    }
+
+    public static ByteBuffer keyFor(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Returns the username of a previously verified token, or {@code null} if the token is unknown
+     * or has expired since it was cached.
+     */
+    public String get(ByteBuffer key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.username();
+    }
+
+    public void put(ByteBuffer key, String username, Date expiration) {
+        // Tokens without an expiry would stay valid forever, so they are always re-verified.
+        if (username == null || expiration == null) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(key, new Entry(username, expiration.getTime()));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        // Free a tenth of the capacity at once so a full cache does not pay for a sweep on every put.
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<ByteBuffer> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Entry(String username, long expiresAtMillis) {}
+}
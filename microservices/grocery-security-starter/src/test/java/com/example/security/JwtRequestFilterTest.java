@@ -0,0 +1,66 @@
+package com.example.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtRequestFilterTest {
+    private JwtUtil jwtUtil;
+    private SimpleMeterRegistry registry;
+    private JwtRequestFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("KP59CHTmeKyEqswGXtn++sici4zgN1LArSQ3APp7O7o=");
+        jwtUtil = new JwtUtil(properties);
+        registry = new SimpleMeterRegistry();
+        filter = new JwtRequestFilter(jwtUtil, properties, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testValidTokenAuthenticatesAndIsCached() throws Exception {
+        String token = jwtUtil.generateToken("user");
+
+        assertEquals("user", authenticate("/carts/1", "Bearer " + token).getName());
+        SecurityContextHolder.clearContext();
+        assertEquals("user", authenticate("/carts/1", "Bearer " + token).getName());
+
+        assertEquals(1.0, registry.get("jwt.cache.gets").tag("result", "miss").counter().count());
+        assertEquals(1.0, registry.get("jwt.cache.gets").tag("result", "hit").counter().count());
+        assertEquals(1L, registry.get("jwt.verification").timer().count());
+    }
+
+    @Test
+    void testInvalidTokenLeavesRequestUnauthenticated() throws Exception {
+        assertNull(authenticate("/carts/1", "Bearer not-a-token"));
+    }
+
+    @Test
+    void testPublicPathsSkipTokenVerification() throws Exception {
+        String token = jwtUtil.generateToken("user");
+
+        assertNull(authenticate("/actuator/health", "Bearer " + token));
+        assertEquals(0.0, registry.get("jwt.cache.gets").tag("result", "miss").counter().count());
+    }
+
+    private Authentication authenticate(String path, String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader("Authorization", authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ServiceTokenTest {
+    private static final String SECRET = "dseGU1dRd4F1GdMmZ7gIC+XwcxCYqrDaDdD9h02F377FNIkVU2bILuXArcpROooMUZcQjI6v3dufqecL6xveMg==";
+
+    @Test
+    void testTokenIsSignedOnceAndReused() {
+        JwtUtil jwtUtil = spy(jwtUtil(Duration.ofHours(1)));
+        ServiceToken token = new ServiceToken(jwtUtil, "order-service");
+
+        String first = token.get();
+        String second = token.get();
+
+        assertSame(first, second);
+        assertEquals("order-service", jwtUtil.extractUsername(first));
+        verify(jwtUtil, times(1)).generateToken("order-service");
+    }
+
+    @Test
+    void testTokenIsRenewedOnceItIsDueForRefresh() {
+        JwtUtil jwtUtil = spy(jwtUtil(Duration.ZERO));
+        ServiceToken token = new ServiceToken(jwtUtil, "order-service");
+
+        token.get();
+        token.get();
+
+        verify(jwtUtil, times(2)).generateToken("order-service");
+    }
+
+    private static JwtUtil jwtUtil(Duration expiration) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(expiration);
+        return new JwtUtil(properties);
+    }
+}
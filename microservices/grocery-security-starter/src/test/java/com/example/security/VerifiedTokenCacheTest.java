@@ -0,0 +1,46 @@
+package com.example.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    @Test
+    void testCachedTokenIsReturnedUntilItExpires() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        ByteBuffer live = VerifiedTokenCache.keyFor("live-token");
+        ByteBuffer expired = VerifiedTokenCache.keyFor("expired-token");
+        cache.put(live, "user", new Date(System.currentTimeMillis() + 60_000));
+        cache.put(expired, "user", new Date(System.currentTimeMillis() - 1));
+
+        assertEquals("user", cache.get(VerifiedTokenCache.keyFor("live-token")));
+        assertNull(cache.get(expired));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testTokensWithoutExpiryAreNotCached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        ByteBuffer key = VerifiedTokenCache.keyFor("token");
+        cache.put(key, "user", null);
+
+        assertNull(cache.get(key));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testCacheStaysWithinMaxSize() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100);
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(VerifiedTokenCache.keyFor("token-" + i), "user-" + i, expiration);
+        }
+
+        assertTrue(cache.size() <= 100);
+        assertEquals("user-999", cache.get(VerifiedTokenCache.keyFor("token-999")));
+    }
+}
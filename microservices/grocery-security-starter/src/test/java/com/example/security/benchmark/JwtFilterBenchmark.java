@@ -0,0 +1,114 @@
+package com.example.security.benchmark;
+
+import com.example.security.JwtProperties;
+import com.example.security.JwtRequestFilter;
+import com.example.security.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the original two-parse JWT filter with the shared single-parse, cached filter,
+ * including a request to a public path that the filter now skips.
+ * Run from the module directory with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main JwtFilterBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+    private static final String SECRET = "KP59CHTmeKyEqswGXtn++sici4zgN1LArSQ3APp7O7o=";
+
+    private String authorization;
+    private JwtRequestFilter filter;
+    private LegacyJwtRequestFilter legacyFilter;
+    private JwtUtil jwtUtil;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        jwtUtil = new JwtUtil(properties);
+        authorization = "Bearer " + jwtUtil.generateToken("user");
+        filter = new JwtRequestFilter(jwtUtil, properties, new SimpleMeterRegistry());
+        legacyFilter = new LegacyJwtRequestFilter();
+    }
+
+    @Benchmark
+    public Authentication legacyFilterPath() throws Exception {
+        return authenticate(legacyFilter, "/carts/1");
+    }
+
+    @Benchmark
+    public Authentication cachedFilterPath() throws Exception {
+        return authenticate(filter, "/carts/1");
+    }
+
+    @Benchmark
+    public Authentication legacyHealthCheck() throws Exception {
+        return authenticate(legacyFilter, "/actuator/health");
+    }
+
+    @Benchmark
+    public Authentication skippedHealthCheck() throws Exception {
+        return authenticate(filter, "/actuator/health");
+    }
+
+    @Benchmark
+    public String singleParse() {
+        return jwtUtil.parseClaims(authorization.substring(7)).getSubject();
+    }
+
+    private Authentication authenticate(OncePerRequestFilter target, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader("Authorization", authorization);
+        try {
+            target.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /** The per-service filter as it was before single-parse verification: two parses, each with a fresh parser. */
+    static class LegacyJwtRequestFilter extends OncePerRequestFilter {
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            final String authHeader = request.getHeader("Authorization");
+            String username = null;
+            String jwt = null;
+            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                jwt = authHeader.substring(7);
+                username = Jwts.parser().setSigningKey(SECRET).parseClaimsJws(jwt).getBody().getSubject();
+            }
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                Jwts.parser().setSigningKey(SECRET).parseClaimsJws(jwt);
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(username, null, new ArrayList<>()));
+            }
+            chain.doFilter(request, response);
+        }
+    }
+}
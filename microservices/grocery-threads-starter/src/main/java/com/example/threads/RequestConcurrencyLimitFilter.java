@@ -0,0 +1,100 @@
+package com.example.threads;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounds how many requests run at once when every request gets its own virtual thread, so a burst
+ * parks cheaply here instead of piling onto the connection pool. Actuator endpoints are not limited.
+ * <p>
+ * A request that goes async, such as a {@code StreamingResponseBody} export, keeps its permit until
+ * the async request completes, errors or times out, so long streams count against the limit for as
+ * long as they run. Its async dispatches therefore pass through without taking a second permit.
+ */
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+    private final Semaphore permits;
+    private final long queueTimeoutNanos;
+    private final Counter rejected;
+
+    public RequestConcurrencyLimitFilter(VirtualThreadsProperties properties, MeterRegistry registry) {
+        this.permits = new Semaphore(properties.getMaxConcurrentRequests());
+        this.queueTimeoutNanos = properties.getQueueTimeout().toNanos();
+        this.rejected = Counter.builder("http.server.requests.rejected")
+                .description("Requests answered with 503 after waiting for a concurrency slot").register(registry);
+        Gauge.builder("http.server.requests.queued", permits, Semaphore::getQueueLength)
+                .description("Requests waiting for a concurrency slot").register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete());
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                permits.release();
+            }
+        }
+    }
+
+    // onComplete follows onError and onTimeout too; a new async cycle needs the listener added again
+    private final class ReleaseOnComplete implements AsyncListener {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.threads;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Turns {@code grocery.threads=virtual} into Spring Boot's own virtual-thread switch, which moves
+ * Tomcat request handling, {@code @Async} and {@code @Scheduled} work onto virtual threads. The
+ * defaults are added last, so an explicit {@code spring.threads.virtual.enabled} or Hikari setting wins.
+ */
+public class ThreadsEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+    public static final String THREADS_PROPERTY = "grocery.threads";
+    static final String PROPERTY_SOURCE_NAME = "groceryThreads";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        String threads = environment.getProperty(THREADS_PROPERTY, "platform").trim();
+        if ("platform".equalsIgnoreCase(threads)) {
+            return;
+        }
+        if (!"virtual".equalsIgnoreCase(threads)) {
+            throw new IllegalArgumentException(THREADS_PROPERTY + " must be 'platform' or 'virtual', not '" + threads + "'");
+        }
+        // Requests beyond the concurrency limit wait for a slot rather than for a connection, so a
+        // connection wait longer than a few seconds means the pool itself is undersized.
+        environment.getPropertySources().addLast(new MapPropertySource(PROPERTY_SOURCE_NAME, Map.of(
+                "spring.threads.virtual.enabled", "true",
+                "spring.datasource.hikari.connection-timeout", "5000")));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Extras for {@code grocery.threads=virtual}: a request concurrency limit in front of the security
+ * filters, and reporting of virtual threads that block while pinned.
+ */
+@AutoConfiguration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@EnableConfigurationProperties(VirtualThreadsProperties.class)
+public class VirtualThreadsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PinnedThreadMonitor pinnedThreadMonitor(VirtualThreadsProperties properties,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new PinnedThreadMonitor(properties.getPinnedThreshold(),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<RequestConcurrencyLimitFilter> requestConcurrencyLimitFilter(
+            VirtualThreadsProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        FilterRegistrationBean<RequestConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new RequestConcurrencyLimitFilter(properties, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)));
+        // Before Spring Security, so a request waiting for a slot has not verified its token yet
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
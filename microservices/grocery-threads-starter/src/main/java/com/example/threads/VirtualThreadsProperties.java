@@ -0,0 +1,29 @@
+package com.example.threads;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "grocery.virtual-threads")
+public class VirtualThreadsProperties {
+    /**
+     * Requests handled at once in virtual-thread mode; the rest wait for a slot. Matches Tomcat's
+     * default platform pool, so connection-bound endpoints see the same pressure on Hikari as before.
+     */
+    private int maxConcurrentRequests = 200;
+
+    /** How long a request waits for a slot before it is answered with 503. */
+    private Duration queueTimeout = Duration.ofSeconds(5);
+
+    /** Pins shorter than this are not reported. */
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+
+    public int getMaxConcurrentRequests() { return maxConcurrentRequests; }
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) { this.maxConcurrentRequests = maxConcurrentRequests; }
+
+    public Duration getQueueTimeout() { return queueTimeout; }
+    public void setQueueTimeout(Duration queueTimeout) { this.queueTimeout = queueTimeout; }
+
+    public Duration getPinnedThreshold() { return pinnedThreshold; }
+    public void setPinnedThreshold(Duration pinnedThreshold) { this.pinnedThreshold = pinnedThreshold; }
+}
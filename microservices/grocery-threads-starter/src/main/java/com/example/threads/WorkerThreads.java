@@ -0,0 +1,21 @@
+package com.example.threads;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.ThreadFactory;
+
+/** Thread factories for a service's own background workers, following {@code grocery.threads}. */
+public final class WorkerThreads {
+
+    private WorkerThreads() {
+    }
+
+    /** Virtual threads in virtual-thread mode, otherwise daemon platform threads; all named {@code name}. */
+    public static ThreadFactory factory(String name, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Thread.ofVirtual().name(name).factory();
+        }
+        return Thread.ofPlatform().name(name).daemon(true).factory();
+    }
+}
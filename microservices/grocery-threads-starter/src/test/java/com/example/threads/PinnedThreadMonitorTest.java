@@ -0,0 +1,56 @@
+package com.example.threads;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PinnedThreadMonitorTest {
+    private SimpleMeterRegistry registry;
+    private PinnedThreadMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        monitor = new PinnedThreadMonitor(Duration.ofMillis(10), registry);
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void testBlockingInsideSynchronizedIsReported() throws Exception {
+        Object lock = new Object();
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+
+        // The JFR stream delivers events in roughly one-second chunks
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (registry.get("jvm.threads.virtual.pinned").timer().count() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertEquals(1L, registry.get("jvm.threads.virtual.pinned").timer().count());
+        assertTrue(monitor.isRunning());
+    }
+
+    @Test
+    void testStopEndsTheRecording() {
+        monitor.stop();
+
+        assertFalse(monitor.isRunning());
+    }
+}
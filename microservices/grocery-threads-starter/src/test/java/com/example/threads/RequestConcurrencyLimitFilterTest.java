@@ -0,0 +1,110 @@
+package com.example.threads;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestConcurrencyLimitFilterTest {
+    private SimpleMeterRegistry registry;
+    private RequestConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        VirtualThreadsProperties properties = new VirtualThreadsProperties();
+        properties.setMaxConcurrentRequests(1);
+        properties.setQueueTimeout(Duration.ofMillis(50));
+        registry = new SimpleMeterRegistry();
+        filter = new RequestConcurrencyLimitFilter(properties, registry);
+    }
+
+    @Test
+    void testRequestBeyondLimitIsRejectedAfterQueueTimeout() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(request("/carts/1"), new MockHttpServletResponse(), (req, res) -> {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request("/carts/1"), rejected, new MockFilterChain());
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(1.0, registry.get("http.server.requests.rejected").counter().count());
+
+        release.countDown();
+        holder.join();
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(request("/carts/1"), admitted, new MockFilterChain());
+        assertEquals(200, admitted.getStatus());
+    }
+
+    @Test
+    void testAsyncRequestHoldsItsPermitUntilComplete() throws Exception {
+        MockHttpServletRequest streaming = request("/products/export");
+        streaming.setAsyncSupported(true);
+        filter.doFilter(streaming, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request("/carts/1"), rejected, new MockFilterChain());
+        assertEquals(503, rejected.getStatus());
+
+        ((MockAsyncContext) streaming.getAsyncContext()).complete();
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(request("/carts/1"), admitted, new MockFilterChain());
+        assertEquals(200, admitted.getStatus());
+    }
+
+    @Test
+    void testActuatorIsNotLimited() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch entered = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(request("/orders"), new MockHttpServletResponse(), (req, res) -> {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse health = new MockHttpServletResponse();
+        filter.doFilter(request("/actuator/health"), health, new MockFilterChain());
+
+        assertEquals(200, health.getStatus());
+        release.countDown();
+        holder.join();
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+}
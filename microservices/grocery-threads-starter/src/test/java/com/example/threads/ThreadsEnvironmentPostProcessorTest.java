@@ -0,0 +1,59 @@
+package com.example.threads;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThreadsEnvironmentPostProcessorTest {
+    private final ThreadsEnvironmentPostProcessor postProcessor = new ThreadsEnvironmentPostProcessor();
+
+    @Test
+    void testVirtualModeEnablesSpringVirtualThreads() {
+        StandardEnvironment environment = environment(Map.of("grocery.threads", "virtual"));
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertTrue(Threading.VIRTUAL.isActive(environment));
+        assertEquals("5000", environment.getProperty("spring.datasource.hikari.connection-timeout"));
+    }
+
+    @Test
+    void testExplicitSettingsWinOverVirtualDefaults() {
+        StandardEnvironment environment = environment(Map.of("grocery.threads", "virtual",
+                "spring.datasource.hikari.connection-timeout", "30000"));
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertEquals("30000", environment.getProperty("spring.datasource.hikari.connection-timeout"));
+    }
+
+    @Test
+    void testPlatformModeIsTheDefault() {
+        StandardEnvironment environment = environment(Map.of());
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertFalse(Threading.VIRTUAL.isActive(environment));
+        assertNull(environment.getPropertySources().get(ThreadsEnvironmentPostProcessor.PROPERTY_SOURCE_NAME));
+    }
+
+    @Test
+    void testUnknownModeIsRejected() {
+        StandardEnvironment environment = environment(Map.of("grocery.threads", "green"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> postProcessor.postProcessEnvironment(environment, new SpringApplication()));
+    }
+
+    private static StandardEnvironment environment(Map<String, Object> properties) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+        return environment;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.order.config;
+
+import com.example.order.event.HttpOrderEventPublisher;
+import com.example.order.event.InMemoryOrderEventBroker;
+import com.example.order.event.OrderEventPublisher;
+import com.example.order.event.OutboxRelay;
+import com.example.order.repository.OutboxEventRepository;
+import com.example.security.JwtProperties;
+import com.example.security.JwtUtil;
+import com.example.threads.WorkerThreads;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@EnableConfigurationProperties(OrderEventsProperties.class)
+public class OrderEventsConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "order.events.summary-url")
+    public OrderEventPublisher httpOrderEventPublisher(OrderEventsProperties properties, JwtUtil jwtUtil) {
+        JwtUtil summaryTokens = jwtUtil;
+        if (properties.getSummaryJwtSecret() != null && !properties.getSummaryJwtSecret().isBlank()) {
+            JwtProperties summaryJwt = new JwtProperties();
+            summaryJwt.setSecret(properties.getSummaryJwtSecret());
+            summaryTokens = new JwtUtil(summaryJwt);
+        }
+        return new HttpOrderEventPublisher(properties.getSummaryUrl(), summaryTokens, properties.getDeliveryTimeout());
+    }
+
+    @Bean
+    @Profile("test")
+    @ConditionalOnMissingBean(OrderEventPublisher.class)
+    public InMemoryOrderEventBroker inMemoryOrderEventBroker() {
+        return new InMemoryOrderEventBroker(10_000);
+    }
+
+    // Anywhere else, acking events nobody reads would lose them, so they stay pending until the URL is set
+    @Bean
+    @ConditionalOnMissingBean(OrderEventPublisher.class)
+    public OrderEventPublisher unconfiguredOrderEventPublisher() {
+        return events -> {
+            throw new IllegalStateException("order.events.summary-url is not set; order events stay pending");
+        };
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(OutboxEventRepository outboxRepository, OrderEventPublisher publisher,
+                                   PlatformTransactionManager transactionManager, OrderEventsProperties properties,
+                                   MeterRegistry registry, Environment environment) {
+        return new OutboxRelay(outboxRepository, publisher, transactionManager, properties, registry,
+                WorkerThreads.factory("outbox-relay", environment));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "order.events")
+public class OrderEventsProperties {
+
+    /** Runs the background relay that delivers outbox events; events are still written when disabled. */
+    private boolean relayEnabled = true;
+
+    /**
+     * Base URL of summary-service. When unset, events go to an in-memory broker stand-in under the
+     * {@code test} profile and otherwise stay pending until it is set.
+     */
+    private String summaryUrl;
+
+    /**
+     * Base64 key summary-service verifies tokens with (its {@code jwt.secret}); deliveries are signed
+     * with it. When unset they are signed with this service's own {@code jwt.secret}, which
+     * summary-service must then share.
+     */
+    private String summaryJwtSecret;
+
+    /** Delay between relay polls once the outbox has been drained. */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /** Outbox events claimed and delivered per batch. */
+    private int batchSize = 100;
+
+    /** Upper bound for the retry delay, which doubles from the poll interval after each failed delivery. */
+    private Duration maxBackoff = Duration.ofMinutes(1);
+
+    /** Connect and read timeout for delivery to summary-service. */
+    private Duration deliveryTimeout = Duration.ofSeconds(5);
+
+    /**
+     * How long a claimed batch is hidden from other relays while it is delivered. Must exceed the
+     * delivery timeout; a relay that dies mid-delivery leaves its batch to be retried once it passes.
+     */
+    private Duration claimTimeout = Duration.ofMinutes(1);
+
+    /** How long delivered events are kept before the relay deletes them. */
+    private Duration retention = Duration.ofDays(7);
+
+    public boolean isRelayEnabled() { return relayEnabled; }
+    public void setRelayEnabled(boolean relayEnabled) { this.relayEnabled = relayEnabled; }
+    public String getSummaryUrl() { return summaryUrl; }
+    public void setSummaryUrl(String summaryUrl) { this.summaryUrl = summaryUrl; }
+    public String getSummaryJwtSecret() { return summaryJwtSecret; }
+    public void setSummaryJwtSecret(String summaryJwtSecret) { this.summaryJwtSecret = summaryJwtSecret; }
+    public Duration getPollInterval() { return pollInterval; }
+    public void setPollInterval(Duration pollInterval) { this.pollInterval = pollInterval; }
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public Duration getMaxBackoff() { return maxBackoff; }
+    public void setMaxBackoff(Duration maxBackoff) { this.maxBackoff = maxBackoff; }
+    public Duration getDeliveryTimeout() { return deliveryTimeout; }
+    public void setDeliveryTimeout(Duration deliveryTimeout) { this.deliveryTimeout = deliveryTimeout; }
+    public Duration getClaimTimeout() { return claimTimeout; }
+    public void setClaimTimeout(Duration claimTimeout) { this.claimTimeout = claimTimeout; }
+    public Duration getRetention() { return retention; }
+    public void setRetention(Duration retention) { this.retention = retention; }
+}
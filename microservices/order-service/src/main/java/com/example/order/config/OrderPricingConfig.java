@@ -0,0 +1,55 @@
+package com.example.order.config;
+
+import com.example.order.pricing.HttpProductCatalogClient;
+import com.example.order.pricing.OrderPricingService;
+import com.example.order.pricing.ProductCatalogClient;
+import com.example.security.JwtProperties;
+import com.example.security.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.ResourceAccessException;
+
+@Configuration
+@EnableConfigurationProperties(OrderPricingProperties.class)
+public class OrderPricingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "order.pricing.product-url")
+    public ProductCatalogClient httpProductCatalogClient(OrderPricingProperties properties, JwtUtil jwtUtil) {
+        JwtUtil productTokens = jwtUtil;
+        if (properties.getProductJwtSecret() != null && !properties.getProductJwtSecret().isBlank()) {
+            JwtProperties productJwt = new JwtProperties();
+            productJwt.setSecret(properties.getProductJwtSecret());
+            productTokens = new JwtUtil(productJwt);
+        }
+        return new HttpProductCatalogClient(properties.getProductUrl(), productTokens, properties.getTimeout());
+    }
+
+    // Orders cannot be priced without product-service, so placing one answers 503 until the URL is set
+    @Bean
+    @ConditionalOnMissingBean(ProductCatalogClient.class)
+    public ProductCatalogClient unconfiguredProductCatalogClient() {
+        return productIds -> {
+            throw new ResourceAccessException("order.pricing.product-url is not set; orders cannot be priced");
+        };
+    }
+
+    @Bean
+    public OrderPricingService orderPricingService(ProductCatalogClient catalogClient, OrderPricingProperties properties,
+                                                   MeterRegistry registry) {
+        Cache<Long, Double> prices = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaxSize())
+                .expireAfterWrite(properties.getPriceTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, prices, "orderPrices");
+        return new OrderPricingService(catalogClient, prices);
+    }
+}
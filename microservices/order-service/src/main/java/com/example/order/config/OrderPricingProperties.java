@@ -0,0 +1,39 @@
+package com.example.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "order.pricing")
+public class OrderPricingProperties {
+
+    /** Base URL of product-service, which prices every order. */
+    private String productUrl;
+
+    /**
+     * Base64 key product-service verifies tokens with (its {@code jwt.secret}); price lookups are signed
+     * with it. When unset they are signed with this service's own {@code jwt.secret}, which product-service
+     * must then share.
+     */
+    private String productJwtSecret;
+
+    /** Connect and read timeout for price lookups. */
+    private Duration timeout = Duration.ofSeconds(2);
+
+    /** How long a product price is reused before it is fetched again. */
+    private Duration priceTtl = Duration.ofMinutes(1);
+
+    /** Maximum number of product prices cached. */
+    private int cacheMaxSize = 10_000;
+
+    public String getProductUrl() { return productUrl; }
+    public void setProductUrl(String productUrl) { this.productUrl = productUrl; }
+    public String getProductJwtSecret() { return productJwtSecret; }
+    public void setProductJwtSecret(String productJwtSecret) { this.productJwtSecret = productJwtSecret; }
+    public Duration getTimeout() { return timeout; }
+    public void setTimeout(Duration timeout) { this.timeout = timeout; }
+    public Duration getPriceTtl() { return priceTtl; }
+    public void setPriceTtl(Duration priceTtl) { this.priceTtl = priceTtl; }
+    public int getCacheMaxSize() { return cacheMaxSize; }
+    public void setCacheMaxSize(int cacheMaxSize) { this.cacheMaxSize = cacheMaxSize; }
+}
@@ -1,44 +1,78 @@
 package com.example.order.controller;
 
 import com.example.order.dto.OrderDTO;
+import com.example.order.mapper.OrderMapper;
 import com.example.order.model.Order;
+import com.example.order.pricing.OrderPricingService;
 import com.example.order.service.OrderService;
-import org.springframework.beans.BeanUtils;
+import com.example.idempotency.IdempotencyService;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+
 @RestController
 @RequestMapping("/orders")
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderMapper orderMapper;
+    private final OrderPricingService orderPricingService;
+    private final IdempotencyService idempotencyService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderMapper orderMapper, OrderPricingService orderPricingService,
+                           IdempotencyService idempotencyService) {
         this.orderService = orderService;
+        this.orderMapper = orderMapper;
+        this.orderPricingService = orderPricingService;
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping
-    public OrderDTO createOrder(@Valid @RequestBody OrderDTO orderDto) {
-        Order order = convertToEntity(orderDto);
-        Order createdOrder = orderService.createOrder(order);
-        return convertToDto(createdOrder);
+    public OrderDTO createOrder(@Valid @RequestBody OrderDTO orderDto, Principal principal,
+                                @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "POST /orders", orderDto, OrderDTO.class, () -> {
+            Order order = orderMapper.toEntity(orderDto);
+            // Priced before the transaction so the product-service call holds no connection
+            orderPricingService.price(order, orderDto.getProductIds());
+            Order createdOrder = orderService.createOrder(order, customerId(principal));
+            return orderMapper.toDto(createdOrder);
+        });
+    }
+
+    // Bulk ingestion: every order is priced from one product lookup and stored in a single transaction
+    @PostMapping("/batch")
+    public List<OrderDTO> createOrders(@RequestBody List<OrderDTO> orderDtos, Principal principal,
+                                       @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        if (orderDtos.size() > OrderService.MAX_BULK_ORDERS) {
+            throw new IllegalArgumentException("At most " + OrderService.MAX_BULK_ORDERS + " orders per request");
+        }
+        return List.of(idempotencyService.execute(idempotencyKey, "POST /orders/batch", orderDtos, OrderDTO[].class, () -> {
+            orderPricingService.prefetch(orderDtos.stream()
+                    .filter(dto -> dto.getProductIds() != null)
+                    .flatMap(dto -> dto.getProductIds().stream())
+                    .toList());
+            List<Order> orders = new ArrayList<>(orderDtos.size());
+            for (OrderDTO orderDto : orderDtos) {
+                Order order = orderMapper.toEntity(orderDto);
+                orderPricingService.price(order, orderDto.getProductIds());
+                orders.add(order);
+            }
+            return orderService.createOrders(orders, customerId(principal)).stream()
+                    .map(orderMapper::toDto)
+                    .toArray(OrderDTO[]::new);
+        }));
     }
 
     @GetMapping("/{id}")
     public OrderDTO getOrder(@PathVariable Long id) {
         Order order = orderService.getOrder(id);
-        return convertToDto(order);
-    }
-
-    private OrderDTO convertToDto(Order order) {
-        OrderDTO orderDto = new OrderDTO();
-        BeanUtils.copyProperties(order, orderDto);
-        return orderDto;
+        return orderMapper.toDto(order);
     }
 
-    private Order convertToEntity(OrderDTO orderDto) {
-        Order order = new Order();
-        BeanUtils.copyProperties(orderDto, order);
-        return order;
+    private static String customerId(Principal principal) {
+        return principal != null ? principal.getName() : null;
     }
 } 
\ No newline at end of file
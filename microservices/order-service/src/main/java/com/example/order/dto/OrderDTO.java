@@ -1,5 +1,6 @@
 package com.example.order.dto;
 
+import java.time.Instant;
 import java.util.List;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.NotEmpty;
@@ -10,6 +11,12 @@ public class OrderDTO {
     private Long cartId;
     @NotEmpty(message = "Product IDs must not be empty")
     private List<Long> productIds;
+    // Set by order-service (total priced from product-service); ignored on input
+    private double total;
+    private List<OrderLineDTO> lines;
+    private String customerId;
+    private String status;
+    private Instant createdAt;
 
     // Getters and setters
     public Long getId() {
@@ -35,4 +42,44 @@ public class OrderDTO {
     public void setProductIds(List<Long> productIds) {
         this.productIds = productIds;
     }
-} 
\ No newline at end of file
+
+    public double getTotal() {
+        return total;
+    }
+
+    public void setTotal(double total) {
+        this.total = total;
+    }
+
+    public List<OrderLineDTO> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<OrderLineDTO> lines) {
+        this.lines = lines;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(String customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
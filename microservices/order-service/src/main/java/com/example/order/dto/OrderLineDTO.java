@@ -0,0 +1,14 @@
+package com.example.order.dto;
+
+public class OrderLineDTO {
+    private Long productId;
+    private int quantity;
+    private double unitPrice;
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+    public double getUnitPrice() { return unitPrice; }
+    public void setUnitPrice(double unitPrice) { this.unitPrice = unitPrice; }
+}
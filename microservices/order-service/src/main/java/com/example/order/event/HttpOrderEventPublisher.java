@@ -0,0 +1,42 @@
+package com.example.order.event;
+
+import com.example.order.model.OutboxEvent;
+import com.example.security.JwtUtil;
+import com.example.security.ServiceToken;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/** Posts each batch to summary-service as one JSON array, authenticated as this service. */
+public class HttpOrderEventPublisher implements OrderEventPublisher {
+    static final String ORDER_CREATED_PATH = "/summaries/events/order-created";
+
+    private final RestClient restClient;
+    private final ServiceToken token;
+
+    public HttpOrderEventPublisher(String summaryUrl, JwtUtil jwtUtil, Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = RestClient.builder().baseUrl(summaryUrl).requestFactory(requestFactory).build();
+        this.token = new ServiceToken(jwtUtil, "order-service");
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        // Payloads are already JSON, so they are joined rather than parsed and re-serialised
+        String body = events.stream().map(OutboxEvent::getPayload).collect(Collectors.joining(",", "[", "]"));
+        restClient.post()
+                .uri(ORDER_CREATED_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token.get())
+                .body(body)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.order.event;
+
+import com.example.order.model.OutboxEvent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Stand-in for a message broker under the {@code test} profile when no summary-service URL is configured.
+ * Keeps the most recent payloads and hands each batch to in-process subscribers.
+ */
+public class InMemoryOrderEventBroker implements OrderEventPublisher {
+    private final int capacity;
+    private final Deque<String> recent = new ArrayDeque<>();
+    private final List<Consumer<List<String>>> subscribers = new CopyOnWriteArrayList<>();
+
+    public InMemoryOrderEventBroker(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        List<String> payloads = events.stream().map(OutboxEvent::getPayload).toList();
+        synchronized (recent) {
+            for (String payload : payloads) {
+                if (recent.size() == capacity) {
+                    recent.removeFirst();
+                }
+                recent.addLast(payload);
+            }
+        }
+        subscribers.forEach(subscriber -> subscriber.accept(payloads));
+    }
+
+    public void subscribe(Consumer<List<String>> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(Consumer<List<String>> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    public List<String> recentPayloads() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.order.event;
+
+import java.time.Instant;
+
+public record OrderCreatedEvent(Long orderId, String customerId, double total, int itemCount, Instant createdAt) {
+    public static final String TYPE = "OrderCreated";
+}
@@ -0,0 +1,10 @@
+package com.example.order.event;
+
+import com.example.order.model.OutboxEvent;
+
+import java.util.List;
+
+/** Delivers a batch of outbox events downstream; throwing leaves the whole batch to be retried. */
+public interface OrderEventPublisher {
+    void publish(List<OutboxEvent> events);
+}
@@ -0,0 +1,199 @@
+package com.example.order.event;
+
+import com.example.order.config.OrderEventsProperties;
+import com.example.order.model.OutboxEvent;
+import com.example.order.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers outbox events in id order, one batch at a time, off the request path. Each batch is
+ * claimed in a short transaction that selects it with FOR UPDATE SKIP LOCKED and stamps a claim
+ * expiry on it; delivery then runs with no transaction, lock or connection held, and a second short
+ * transaction marks the batch published. Several instances can relay concurrently without sending a
+ * batch twice while its claim lasts. Delivery is still at-least-once (a crash after delivery, or a
+ * delivery outliving its claim, redelivers), and consumers dedup.
+ * <p>
+ * Delivered events are deleted once they are older than the configured retention, so the table and
+ * the pending-events count stay proportional to recent traffic.
+ */
+public class OutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(10);
+
+    private final OutboxEventRepository outboxRepository;
+    private final OrderEventPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderEventsProperties properties;
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final Timer deliveryLag;
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+    private final ScheduledExecutorService executor;
+    private int consecutiveFailures;
+    private Instant lastPurge = Instant.EPOCH;
+
+    public OutboxRelay(OutboxEventRepository outboxRepository, OrderEventPublisher publisher,
+                       PlatformTransactionManager transactionManager, OrderEventsProperties properties,
+                       MeterRegistry registry, ThreadFactory threadFactory) {
+        this.outboxRepository = outboxRepository;
+        this.publisher = publisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.executor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        this.publishedCounter = Counter.builder("outbox.events.published")
+                .description("Outbox events delivered downstream").register(registry);
+        this.failureCounter = Counter.builder("outbox.delivery.failures")
+                .description("Outbox batches whose delivery failed and will be retried").register(registry);
+        this.deliveryLag = Timer.builder("outbox.delivery.lag")
+                .description("Time from an event being written to it being delivered").register(registry);
+        Gauge.builder("outbox.events.pending", outboxRepository, OutboxEventRepository::countByPublishedAtIsNull)
+                .description("Outbox events not yet delivered").register(registry);
+        Gauge.builder("outbox.oldest.pending.age", oldestPendingMillis, AtomicLong::get)
+                .description("Age in milliseconds of the oldest undelivered event, as of the last poll")
+                .baseUnit("milliseconds").register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (properties.isRelayEnabled()) {
+            executor.schedule(this::poll, properties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /** Delivers pending events until the outbox is drained; returns how many were published. */
+    public int relayPending() {
+        int published = 0;
+        while (true) {
+            int delivered = relayBatch();
+            published += delivered;
+            if (delivered < properties.getBatchSize()) {
+                return published;
+            }
+        }
+    }
+
+    /** Deletes delivered events older than the retention; returns how many were removed. */
+    public int purgePublished() {
+        Instant cutoff = Instant.now().minus(properties.getRetention());
+        Integer purged = transactionTemplate.execute(status -> outboxRepository.deletePublishedBefore(cutoff));
+        return purged == null ? 0 : purged;
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<OutboxEvent> claimed = outboxRepository.findClaimable(now, Limit.of(properties.getBatchSize()));
+            if (!claimed.isEmpty()) {
+                outboxRepository.claim(ids(claimed), now.plus(properties.getClaimTimeout()));
+            }
+            return claimed;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = ids(batch);
+        try {
+            publisher.publish(batch);
+        } catch (RuntimeException e) {
+            releaseClaims(ids);
+            throw e;
+        }
+        Instant now = Instant.now();
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.markPublished(ids, now));
+        for (OutboxEvent event : batch) {
+            deliveryLag.record(Duration.between(event.getCreatedAt(), now));
+        }
+        publishedCounter.increment(batch.size());
+        return batch.size();
+    }
+
+    // Lets the retry pick the batch up straight away; if this fails too the claim simply expires
+    private void releaseClaims(List<Long> ids) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.releaseClaims(ids));
+        } catch (RuntimeException e) {
+            log.debug("Could not release outbox claims", e);
+        }
+    }
+
+    private static List<Long> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+
+    // Drains the outbox, then waits the poll interval; after a failure the wait doubles up to maxBackoff
+    private void poll() {
+        long delay;
+        try {
+            relayPending();
+            consecutiveFailures = 0;
+            delay = properties.getPollInterval().toMillis();
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            consecutiveFailures++;
+            delay = backoffMillis(consecutiveFailures);
+            log.warn("Outbox delivery failed {} time(s) in a row, retrying in {} ms: {}",
+                    consecutiveFailures, delay, e.getMessage());
+        }
+        recordOldestPending();
+        purgeIfDue();
+        if (!executor.isShutdown()) {
+            executor.schedule(this::poll, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    long backoffMillis(int failures) {
+        long base = properties.getPollInterval().toMillis();
+        long max = properties.getMaxBackoff().toMillis();
+        return Math.min(max, base << Math.min(failures, 20));
+    }
+
+    private void purgeIfDue() {
+        Instant now = Instant.now();
+        if (Duration.between(lastPurge, now).compareTo(PURGE_INTERVAL) < 0) {
+            return;
+        }
+        lastPurge = now;
+        try {
+            int purged = purgePublished();
+            if (purged > 0) {
+                log.debug("Purged {} delivered outbox events", purged);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not purge delivered outbox events: {}", e.getMessage());
+        }
+    }
+
+    private void recordOldestPending() {
+        try {
+            Instant oldest = outboxRepository.findOldestUnpublishedCreatedAt();
+            oldestPendingMillis.set(oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis());
+        } catch (RuntimeException e) {
+            log.debug("Could not read outbox lag", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.order.mapper;
+
+import com.example.order.dto.OrderDTO;
+import com.example.order.dto.OrderLineDTO;
+import com.example.order.model.Order;
+import com.example.order.model.OrderLine;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Compile-time generated conversion between {@link Order} and {@link OrderDTO}. Any target
+ * property that is neither mapped nor explicitly ignored fails the build.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface OrderMapper {
+
+    // Order does not store the cart; the requested products are reported as priced lines
+    @Mapping(target = "cartId", ignore = true)
+    @Mapping(target = "productIds", ignore = true)
+    OrderDTO toDto(Order order);
+
+    OrderLineDTO toDto(OrderLine line);
+
+    // Total and lines are priced server-side and the rest is set when the order is stored, never
+    // taken from the client; a client-supplied id would turn the insert into a merge
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "total", ignore = true)
+    @Mapping(target = "lines", ignore = true)
+    @Mapping(target = "customerId", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    Order toEntity(OrderDTO orderDto);
+}
@@ -1,17 +1,55 @@
 package com.example.order.model;
 
+import com.example.persistence.PooledSequence;
 import jakarta.persistence.*;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_customer_created", columnList = "customer_id, created_at"))
 public class Order {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence ids (rather than IDENTITY) let Hibernate batch order inserts.
+    @Id
+    @PooledSequence("orders_seq")
     private Long id;
     private double total;
-    // Add fields for customer, status, etc. as needed
+
+    @Column(name = "customer_id")
+    private String customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private OrderStatus status;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    private List<OrderLine> lines = new ArrayList<>();
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public double getTotal() { return total; }
     public void setTotal(double total) { this.total = total; }
-} 
\ No newline at end of file
+    public String getCustomerId() { return customerId; }
+    public void setCustomerId(String customerId) { this.customerId = customerId; }
+    public OrderStatus getStatus() { return status; }
+    public void setStatus(OrderStatus status) { this.status = status; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public List<OrderLine> getLines() { return lines; }
+    public void setLines(List<OrderLine> lines) { this.lines = lines; }
+
+    public void addLine(OrderLine line) {
+        line.setOrder(this);
+        lines.add(line);
+    }
+
+    /** Units across all lines. */
+    public int getItemCount() {
+        return lines.stream().mapToInt(OrderLine::getQuantity).sum();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.order.model;
+
+import com.example.persistence.PooledSequence;
+import jakarta.persistence.*;
+
+@Entity
+public class OrderLine {
+    // Sequence ids (rather than IDENTITY) let Hibernate batch line inserts.
+    @Id
+    @PooledSequence("order_line_seq")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "order_id")
+    private Order order;
+
+    private Long productId;
+    private int quantity;
+    // Price from product-service when the order was placed, not the current catalog price.
+    private double unitPrice;
+
+    public OrderLine() {
+    }
+
+    public OrderLine(Long productId, int quantity, double unitPrice) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Order getOrder() { return order; }
+    public void setOrder(Order order) { this.order = order; }
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+    public double getUnitPrice() { return unitPrice; }
+    public void setUnitPrice(double unitPrice) { this.unitPrice = unitPrice; }
+}
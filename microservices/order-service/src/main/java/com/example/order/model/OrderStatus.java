@@ -0,0 +1,9 @@
+package com.example.order.model;
+
+public enum OrderStatus {
+    CREATED,
+    PAID,
+    SHIPPED,
+    DELIVERED,
+    CANCELLED
+}
@@ -0,0 +1,57 @@
+package com.example.order.model;
+
+import com.example.persistence.PooledSequence;
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * An event written in the same transaction as the change it describes and delivered later by the
+ * outbox relay, so an order is never stored without its event nor announced without being stored.
+ */
+@Entity
+@Table(name = "outbox_event", indexes = @Index(name = "idx_outbox_unpublished", columnList = "published_at, id"))
+public class OutboxEvent {
+    // Sequence ids so the event batches with its order's inserts; the relay still reads in id order.
+    @Id
+    @PooledSequence("outbox_event_seq")
+    private Long id;
+    private String aggregateType;
+    private Long aggregateId;
+    private String eventType;
+    @Column(length = 4000)
+    private String payload;
+    private Instant createdAt;
+    @Column(name = "published_at")
+    private Instant publishedAt;
+    // Set while a relay is delivering the event; other relays skip it until then
+    @Column(name = "claimed_until")
+    private Instant claimedUntil;
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(String aggregateType, Long aggregateId, String eventType, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = Instant.now();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getAggregateType() { return aggregateType; }
+    public void setAggregateType(String aggregateType) { this.aggregateType = aggregateType; }
+    public Long getAggregateId() { return aggregateId; }
+    public void setAggregateId(Long aggregateId) { this.aggregateId = aggregateId; }
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Instant getPublishedAt() { return publishedAt; }
+    public void setPublishedAt(Instant publishedAt) { this.publishedAt = publishedAt; }
+    public Instant getClaimedUntil() { return claimedUntil; }
+    public void setClaimedUntil(Instant claimedUntil) { this.claimedUntil = claimedUntil; }
+}
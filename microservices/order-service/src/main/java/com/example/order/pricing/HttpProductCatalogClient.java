@@ -0,0 +1,53 @@
+package com.example.order.pricing;
+
+import com.example.security.JwtUtil;
+import com.example.security.ServiceToken;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Resolves prices through product-service's {@code POST /products:batchGet}, authenticated as this service. */
+public class HttpProductCatalogClient implements ProductCatalogClient {
+    static final String BATCH_GET_PATH = "/products:batchGet";
+
+    private final RestClient restClient;
+    private final ServiceToken token;
+
+    public HttpProductCatalogClient(String productUrl, JwtUtil jwtUtil, Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = RestClient.builder().baseUrl(productUrl).requestFactory(requestFactory).build();
+        this.token = new ServiceToken(jwtUtil, "order-service");
+    }
+
+    @Override
+    public Map<Long, Double> fetchPrices(Collection<Long> productIds) {
+        BatchResponse response = restClient.post()
+                .uri(BATCH_GET_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token.get())
+                .body(productIds)
+                .retrieve()
+                .body(BatchResponse.class);
+        Map<Long, Double> prices = new HashMap<>();
+        if (response != null && response.products() != null) {
+            response.products().forEach(product -> prices.put(product.id(), product.price()));
+        }
+        return prices;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record BatchResponse(List<ProductPrice> products) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ProductPrice(Long id, double price) {}
+}
@@ -0,0 +1,63 @@
+package com.example.order.pricing;
+
+import com.example.order.model.Order;
+import com.example.order.model.OrderLine;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Prices orders from product-service instead of trusting the client. Prices are cached locally,
+ * and whatever is not cached is fetched in one batched request, so an order costs at most one
+ * round trip however many lines it has.
+ */
+public class OrderPricingService {
+    private final ProductCatalogClient catalogClient;
+    private final Cache<Long, Double> prices;
+
+    public OrderPricingService(ProductCatalogClient catalogClient, Cache<Long, Double> prices) {
+        this.catalogClient = catalogClient;
+        this.prices = prices;
+    }
+
+    /** Loads every uncached price among {@code productIds} in one request, e.g. before pricing a batch of orders. */
+    public void prefetch(Collection<Long> productIds) {
+        List<Long> ids = productIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (!ids.isEmpty()) {
+            prices.getAll(ids, missing -> catalogClient.fetchPrices(List.copyOf(missing)));
+        }
+    }
+
+    /** Adds one line per distinct product (repeated ids become the quantity) and sets the order total. */
+    public void price(Order order, List<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            throw new IllegalArgumentException("Product IDs must not be empty");
+        }
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (Long productId : productIds) {
+            if (productId == null) {
+                throw new IllegalArgumentException("Product IDs must not contain null");
+            }
+            quantities.merge(productId, 1, Integer::sum);
+        }
+        // Ids product-service does not know come back absent and are not cached
+        Map<Long, Double> found = prices.getAll(quantities.keySet(),
+                missing -> catalogClient.fetchPrices(List.copyOf(missing)));
+        List<Long> unknown = quantities.keySet().stream().filter(id -> !found.containsKey(id)).toList();
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown product ids: " + unknown);
+        }
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            double unitPrice = found.get(entry.getKey());
+            order.addLine(new OrderLine(entry.getKey(), entry.getValue(), unitPrice));
+            total = total.add(BigDecimal.valueOf(unitPrice).multiply(BigDecimal.valueOf(entry.getValue())));
+        }
+        order.setTotal(total.doubleValue());
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.order.pricing;
+
+import java.util.Collection;
+import java.util.Map;
+
+/** Current unit prices from product-service. */
+public interface ProductCatalogClient {
+
+    /** Returns the price of every requested product that exists, fetched in a single request. */
+    Map<Long, Double> fetchPrices(Collection<Long> productIds);
+}
@@ -0,0 +1,50 @@
+package com.example.order.repository;
+
+import com.example.order.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.LockOptions;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // SELECT ... FOR UPDATE SKIP LOCKED: rows another relay instance is claiming are skipped rather
+    // than waited on, and rows it has claimed are filtered out until the claim expires, so instances
+    // claim disjoint batches and scale out. The locks only last for the claiming transaction.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "" + LockOptions.SKIP_LOCKED))
+    @Query("select e from OutboxEvent e where e.publishedAt is null "
+            + "and (e.claimedUntil is null or e.claimedUntil < :now) order by e.id")
+    List<OutboxEvent> findClaimable(@Param("now") Instant now, Limit limit);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.claimedUntil = :claimedUntil where e.id in :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimedUntil") Instant claimedUntil);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.claimedUntil = null where e.id in :ids and e.publishedAt is null")
+    int releaseClaims(@Param("ids") Collection<Long> ids);
+
+    @Query("select min(e.createdAt) from OutboxEvent e where e.publishedAt is null")
+    Instant findOldestUnpublishedCreatedAt();
+
+    long countByPublishedAtIsNull();
+
+    @Modifying
+    @Query("update OutboxEvent e set e.publishedAt = :publishedAt, e.claimedUntil = null where e.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff);
+}
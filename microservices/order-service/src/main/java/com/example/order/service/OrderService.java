@@ -1,14 +1,77 @@
 package com.example.order.service;
 
+import com.example.order.event.OrderCreatedEvent;
 import com.example.order.model.Order;
+import com.example.order.model.OrderStatus;
+import com.example.order.model.OutboxEvent;
 import com.example.order.repository.OrderRepository;
+import com.example.order.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
 
 @Service
 public class OrderService {
+    public static final int MAX_BULK_ORDERS = 1000;
+
     private final OrderRepository repo;
-    public OrderService(OrderRepository repo) { this.repo = repo; }
+    private final OutboxEventRepository outboxRepo;
+    private final ObjectMapper objectMapper;
+
+    public OrderService(OrderRepository repo, OutboxEventRepository outboxRepo, ObjectMapper objectMapper) {
+        this.repo = repo;
+        this.outboxRepo = outboxRepo;
+        this.objectMapper = objectMapper;
+    }
+
+    // The outbox row commits or rolls back with the order; delivery happens later in the relay
+    @Transactional
+    public Order createOrder(Order order, String customerId) {
+        Order saved = repo.save(stamp(order, customerId, Instant.now()));
+        outboxRepo.save(createdEvent(saved));
+        return saved;
+    }
+
+    /**
+     * Stores many orders in one transaction. With sequence ids and JDBC batching the orders, their
+     * lines and their outbox rows go out as a few multi-row batches rather than one round trip each.
+     */
+    @Transactional
+    public List<Order> createOrders(List<Order> orders, String customerId) {
+        if (orders.size() > MAX_BULK_ORDERS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_ORDERS + " orders per request");
+        }
+        Instant now = Instant.now();
+        orders.forEach(order -> stamp(order, customerId, now));
+        List<Order> saved = repo.saveAll(orders);
+        outboxRepo.saveAll(saved.stream().map(this::createdEvent).toList());
+        return saved;
+    }
 
-    public Order createOrder(Order order) { return repo.save(order); }
     public Order getOrder(Long id) { return repo.findById(id).orElseThrow(); }
-} 
\ No newline at end of file
+
+    private static Order stamp(Order order, String customerId, Instant createdAt) {
+        order.setCustomerId(customerId);
+        order.setStatus(OrderStatus.CREATED);
+        order.setCreatedAt(createdAt);
+        return order;
+    }
+
+    private OutboxEvent createdEvent(Order order) {
+        OrderCreatedEvent event = new OrderCreatedEvent(order.getId(), order.getCustomerId(), order.getTotal(),
+                order.getItemCount(), order.getCreatedAt());
+        return new OutboxEvent("Order", order.getId(), OrderCreatedEvent.TYPE, toJson(event));
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise " + event, e);
+        }
+    }
+}
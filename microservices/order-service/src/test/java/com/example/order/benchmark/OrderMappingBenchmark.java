@@ -0,0 +1,66 @@
+package com.example.order.benchmark;
+
+import com.example.order.dto.OrderDTO;
+import com.example.order.mapper.OrderMapper;
+import com.example.order.mapper.OrderMapperImpl;
+import com.example.order.model.Order;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflective {@code BeanUtils.copyProperties} conversion the controller used to do with
+ * the generated {@link OrderMapper}, in both directions. Run from the module directory with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main OrderMappingBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMappingBenchmark {
+    private final OrderMapper mapper = new OrderMapperImpl();
+    private Order entity;
+    private OrderDTO dto;
+
+    @Setup
+    public void setUp() {
+        entity = new Order();
+        entity.setId(1L);
+        entity.setTotal(12.5);
+        dto = new OrderDTO();
+        dto.setId(1L);
+        dto.setCartId(2L);
+        dto.setProductIds(List.of(1L, 2L, 3L));
+    }
+
+    @Benchmark
+    public OrderDTO beanUtilsToDto() {
+        OrderDTO result = new OrderDTO();
+        BeanUtils.copyProperties(entity, result);
+        return result;
+    }
+
+    @Benchmark
+    public OrderDTO mapperToDto() {
+        return mapper.toDto(entity);
+    }
+
+    @Benchmark
+    public Order beanUtilsToEntity() {
+        Order result = new Order();
+        BeanUtils.copyProperties(dto, result);
+        return result;
+    }
+
+    @Benchmark
+    public Order mapperToEntity() {
+        return mapper.toEntity(dto);
+    }
+}
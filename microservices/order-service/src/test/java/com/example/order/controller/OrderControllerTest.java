@@ -1,8 +1,9 @@
 package com.example.order.controller;
 
-import com.example.order.config.SecurityConfig;
 import com.example.order.dto.OrderDTO;
+import com.example.order.mapper.OrderMapperImpl;
 import com.example.order.model.Order;
+import com.example.order.pricing.OrderPricingService;
 import com.example.order.service.OrderService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -18,8 +19,15 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -27,7 +35,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @ActiveProfiles("test")
 @WebMvcTest(OrderController.class)
-@Import(OrderControllerTest.TestSecurityConfig.class)
+@Import({OrderControllerTest.TestSecurityConfig.class, OrderMapperImpl.class})
 public class OrderControllerTest {
 
     @Autowired
@@ -36,6 +44,9 @@ public class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private OrderPricingService orderPricingService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -48,7 +59,7 @@ public class OrderControllerTest {
         savedOrder.setId(1L);
         // Set other properties for savedOrder
 
-        when(orderService.createOrder(any(Order.class))).thenReturn(savedOrder);
+        when(orderService.createOrder(any(Order.class), any())).thenReturn(savedOrder);
 
         mockMvc.perform(post("/orders")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -57,6 +68,85 @@ public class OrderControllerTest {
                 .andExpect(jsonPath("$.id").value(1L));
     }
 
+    @Test
+    public void testCreateOrderWithRepeatedIdempotencyKeyCreatesOneOrder() throws Exception {
+        Order savedOrder = new Order();
+        savedOrder.setId(9L);
+        when(orderService.createOrder(any(Order.class), any())).thenReturn(savedOrder);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/orders")
+                            .header("Idempotency-Key", "retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new OrderDTO())))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(9L));
+        }
+        verify(orderService, times(1)).createOrder(any(Order.class), any());
+    }
+
+    @Test
+    public void testCreateOrderRejectsIdempotencyKeyReusedWithAnotherBody() throws Exception {
+        Order savedOrder = new Order();
+        savedOrder.setId(9L);
+        when(orderService.createOrder(any(Order.class), any())).thenReturn(savedOrder);
+        OrderDTO changed = new OrderDTO();
+        changed.setProductIds(List.of(7L));
+
+        mockMvc.perform(post("/orders")
+                        .header("Idempotency-Key", "retry-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderDTO())))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/orders")
+                        .header("Idempotency-Key", "retry-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(changed)))
+                .andExpect(status().isUnprocessableEntity());
+        verify(orderService, times(1)).createOrder(any(Order.class), any());
+    }
+
+    @Test
+    public void testCreateOrderRejectsOversizedIdempotencyKey() throws Exception {
+        mockMvc.perform(post("/orders")
+                        .header("Idempotency-Key", "x".repeat(256))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderDTO())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testCreateOrdersPricesFromOneLookup() throws Exception {
+        OrderDTO first = new OrderDTO();
+        first.setProductIds(List.of(1L, 2L));
+        OrderDTO second = new OrderDTO();
+        second.setProductIds(List.of(2L, 3L));
+        Order saved = new Order();
+        saved.setId(4L);
+        when(orderService.createOrders(anyList(), any())).thenReturn(List.of(saved, saved));
+
+        mockMvc.perform(post("/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(first, second))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+        verify(orderPricingService).prefetch(List.of(1L, 2L, 2L, 3L));
+        verify(orderPricingService, times(2)).price(any(Order.class), anyList());
+    }
+
+    @Test
+    public void testCreateOrderAnswers503WhenProductServiceIsDown() throws Exception {
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setProductIds(List.of(1L));
+        doThrow(new ResourceAccessException("Connection refused"))
+                .when(orderPricingService).price(any(Order.class), anyList());
+
+        mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderDTO)))
+                .andExpect(status().isServiceUnavailable());
+    }
+
     @TestConfiguration
     @Profile("test")
     static class TestSecurityConfig {
@@ -65,9 +155,5 @@ public class OrderControllerTest {
             http.csrf().disable().authorizeHttpRequests().anyRequest().permitAll();
             return http.build();
         }
-        @Bean
-        public com.example.order.config.JwtUtil jwtUtil() {
-            return new com.example.order.config.JwtUtil();
-        }
     }
 } 
\ No newline at end of file
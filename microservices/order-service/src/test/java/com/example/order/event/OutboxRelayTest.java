@@ -0,0 +1,168 @@
+package com.example.order.event;
+
+import com.example.order.model.Order;
+import com.example.order.model.OutboxEvent;
+import com.example.order.repository.OutboxEventRepository;
+import com.example.order.service.OrderService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"order.events.relay-enabled=false", "order.events.batch-size=2"})
+class OutboxRelayTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private InMemoryOrderEventBroker broker;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testRelayDeliversPendingEventsInBatchesOnce() throws Exception {
+        // Arrange
+        List<List<String>> batches = new ArrayList<>();
+        Consumer<List<String>> subscriber = batches::add;
+        broker.subscribe(subscriber);
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Order order = new Order();
+            order.setTotal(10.0 + i);
+            orderIds.add(orderService.createOrder(order, "alice").getId());
+        }
+        double publishedBefore = meterRegistry.get("outbox.events.published").counter().count();
+
+        // Act
+        int published;
+        int again;
+        try {
+            published = outboxRelay.relayPending();
+            again = outboxRelay.relayPending();
+        } finally {
+            broker.unsubscribe(subscriber);
+        }
+
+        // Assert
+        assertEquals(5, published);
+        assertEquals(0, again);
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        List<Long> delivered = new ArrayList<>();
+        for (List<String> batch : batches) {
+            for (String payload : batch) {
+                JsonNode event = objectMapper.readTree(payload);
+                assertEquals("alice", event.get("customerId").asText());
+                delivered.add(event.get("orderId").asLong());
+            }
+        }
+        assertEquals(orderIds, delivered);
+        assertTrue(outboxRepository.findAll().stream().allMatch(event -> event.getPublishedAt() != null));
+        assertEquals(5.0, meterRegistry.get("outbox.events.published").counter().count() - publishedBefore);
+        assertEquals(0.0, meterRegistry.get("outbox.events.pending").gauge().value());
+    }
+
+    @Test
+    void testFailedDeliveryLeavesEventsPending() {
+        // Arrange
+        Consumer<List<String>> failing = payloads -> {
+            throw new IllegalStateException("summary-service unavailable");
+        };
+        broker.subscribe(failing);
+        orderService.createOrder(new Order(), "bob");
+
+        // Act / Assert
+        try {
+            assertThrows(IllegalStateException.class, () -> outboxRelay.relayPending());
+        } finally {
+            broker.unsubscribe(failing);
+        }
+        assertTrue(outboxRepository.findAll().stream().allMatch(event -> event.getPublishedAt() == null));
+        assertTrue(outboxRepository.findAll().stream().allMatch(event -> event.getClaimedUntil() == null));
+        assertEquals(1.0, meterRegistry.get("outbox.events.pending").gauge().value());
+    }
+
+    @Test
+    void testDeliveryHoldsAClaimButNoTransaction() {
+        // Arrange
+        List<Boolean> inTransaction = new ArrayList<>();
+        List<Boolean> claimed = new ArrayList<>();
+        Consumer<List<String>> subscriber = payloads -> {
+            inTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            claimed.add(outboxRepository.findAll().stream().allMatch(event -> event.getClaimedUntil() != null));
+        };
+        broker.subscribe(subscriber);
+        orderService.createOrder(new Order(), "carol");
+
+        // Act
+        try {
+            outboxRelay.relayPending();
+        } finally {
+            broker.unsubscribe(subscriber);
+        }
+
+        // Assert
+        assertEquals(List.of(false), inTransaction);
+        assertEquals(List.of(true), claimed);
+        assertTrue(outboxRepository.findAll().stream().allMatch(event -> event.getClaimedUntil() == null));
+    }
+
+    @Test
+    void testPurgeDeletesOnlyDeliveredEventsPastRetention() {
+        // Arrange
+        orderService.createOrder(new Order(), "dave");
+        orderService.createOrder(new Order(), "dave");
+        orderService.createOrder(new Order(), "dave");
+        List<OutboxEvent> events = outboxRepository.findAll(Sort.by("id"));
+        events.get(0).setPublishedAt(Instant.now().minus(Duration.ofDays(8)));
+        events.get(1).setPublishedAt(Instant.now());
+        outboxRepository.saveAll(events);
+
+        // Act
+        int purged = outboxRelay.purgePublished();
+
+        // Assert
+        assertEquals(1, purged);
+        assertEquals(List.of(events.get(1).getId(), events.get(2).getId()),
+                outboxRepository.findAll(Sort.by("id")).stream().map(OutboxEvent::getId).toList());
+    }
+
+    @Test
+    void testBackoffDoublesUpToMaximum() {
+        // Act / Assert
+        assertEquals(2000, outboxRelay.backoffMillis(1));
+        assertEquals(8000, outboxRelay.backoffMillis(3));
+        assertEquals(60000, outboxRelay.backoffMillis(10));
+        assertEquals(60000, outboxRelay.backoffMillis(Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.order.pricing;
+
+import com.example.order.model.Order;
+import com.example.order.model.OrderLine;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderPricingServiceTest {
+    private final Map<Long, Double> catalog = new HashMap<>();
+    private final List<Collection<Long>> requests = new ArrayList<>();
+    private OrderPricingService pricingService;
+
+    @BeforeEach
+    void setUp() {
+        LongStream.rangeClosed(1, 60).forEach(id -> catalog.put(id, id * 0.5));
+        ProductCatalogClient client = productIds -> {
+            requests.add(List.copyOf(productIds));
+            Map<Long, Double> prices = new HashMap<>();
+            productIds.stream().filter(catalog::containsKey).forEach(id -> prices.put(id, catalog.get(id)));
+            return prices;
+        };
+        pricingService = new OrderPricingService(client, Caffeine.newBuilder().maximumSize(1000).build());
+    }
+
+    @Test
+    void testFiftyLineOrderIsPricedWithOneLookup() {
+        // Arrange
+        List<Long> productIds = LongStream.rangeClosed(1, 50).boxed().toList();
+        Order order = new Order();
+
+        // Act
+        pricingService.price(order, productIds);
+
+        // Assert
+        assertEquals(1, requests.size());
+        assertEquals(50, requests.get(0).size());
+        assertEquals(50, order.getLines().size());
+        assertEquals(637.5, order.getTotal(), 1e-9);
+    }
+
+    @Test
+    void testCachedPricesAvoidRepeatLookups() {
+        // Arrange
+        pricingService.price(new Order(), List.of(1L, 2L, 3L));
+        Order order = new Order();
+
+        // Act
+        pricingService.price(order, List.of(2L, 3L, 4L));
+
+        // Assert
+        assertEquals(2, requests.size());
+        assertEquals(List.of(4L), requests.get(1));
+        assertEquals(4.5, order.getTotal(), 1e-9);
+    }
+
+    @Test
+    void testRepeatedProductIdsBecomeQuantity() {
+        // Arrange
+        Order order = new Order();
+
+        // Act
+        pricingService.price(order, List.of(3L, 5L, 3L, 3L));
+
+        // Assert
+        assertEquals(List.of(3L, 5L), order.getLines().stream().map(OrderLine::getProductId).toList());
+        assertEquals(3, order.getLines().get(0).getQuantity());
+        assertEquals(1.5, order.getLines().get(0).getUnitPrice());
+        assertSame(order, order.getLines().get(0).getOrder());
+        assertEquals(7.0, order.getTotal(), 1e-9);
+    }
+
+    @Test
+    void testUnknownProductIsRejectedAndNotCached() {
+        // Act / Assert
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> pricingService.price(new Order(), List.of(1L, 999L)));
+        assertTrue(error.getMessage().contains("999"));
+        catalog.put(999L, 2.0);
+        Order order = new Order();
+        pricingService.price(order, List.of(999L));
+        assertEquals(2.0, order.getTotal());
+    }
+}
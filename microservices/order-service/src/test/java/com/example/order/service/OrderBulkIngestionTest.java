@@ -0,0 +1,82 @@
+package com.example.order.service;
+
+import com.example.order.model.Order;
+import com.example.order.model.OrderLine;
+import com.example.order.model.OrderStatus;
+import com.example.order.repository.OrderRepository;
+import com.example.order.repository.OutboxEventRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"order.events.relay-enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+class OrderBulkIngestionTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testBulkOrdersAreWrittenInJdbcBatches() {
+        // Arrange
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Order order = new Order();
+            order.addLine(new OrderLine(1L, 1, 2.0));
+            order.addLine(new OrderLine(2L, 3, 0.5));
+            order.setTotal(3.5);
+            orders.add(order);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        List<Order> saved = orderService.createOrders(orders, "carol");
+
+        // Assert
+        // 200 orders, 400 lines and 200 outbox rows: one statement each without batching
+        assertEquals(800, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < 60,
+                "expected batched inserts, got " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals(200, outboxRepository.countByPublishedAtIsNull());
+        Order stored = new TransactionTemplate(transactionManager).execute(status -> {
+            Order order = orderRepository.findById(saved.get(0).getId()).orElseThrow();
+            order.getLines().size();
+            return order;
+        });
+        assertEquals("carol", stored.getCustomerId());
+        assertEquals(OrderStatus.CREATED, stored.getStatus());
+        assertNotNull(stored.getCreatedAt());
+        assertEquals(List.of(1, 3), stored.getLines().stream().map(OrderLine::getQuantity).toList());
+    }
+}
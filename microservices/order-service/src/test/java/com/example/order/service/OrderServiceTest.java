@@ -1,44 +1,126 @@
 package com.example.order.service;
 
 import com.example.order.model.Order;
+import com.example.order.model.OrderLine;
+import com.example.order.model.OrderStatus;
+import com.example.order.model.OutboxEvent;
 import com.example.order.repository.OrderRepository;
+import com.example.order.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
 import static org.junit.jupiter.api.Assertions.*;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.test.context.ActiveProfiles;
 
 @ActiveProfiles("test")
 class OrderServiceTest {
     private OrderRepository orderRepository;
+    private OutboxEventRepository outboxRepository;
     private OrderService orderService;
     private Order testOrder;
 
     @BeforeEach
     void setUp() {
         orderRepository = Mockito.mock(OrderRepository.class);
-        orderService = new OrderService(orderRepository);
+        outboxRepository = Mockito.mock(OutboxEventRepository.class);
+        orderService = new OrderService(orderRepository, outboxRepository, JsonMapper.builder().findAndAddModules().build());
         testOrder = new Order();
         testOrder.setId(1L);
         testOrder.setTotal(100.0);
     }
 
     @Test
-    void testCreateOrder() {
+    void testCreateOrder() throws Exception {
         // Arrange
         Order newOrder = new Order();
         newOrder.setTotal(50.0);
+        newOrder.addLine(new OrderLine(10L, 2, 12.5));
+        newOrder.addLine(new OrderLine(11L, 1, 25.0));
         when(orderRepository.save(Mockito.any(Order.class))).thenReturn(newOrder);
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
         // Act
-        Order createdOrder = orderService.createOrder(newOrder);
+        Order createdOrder = orderService.createOrder(newOrder, null);
         // Assert
         assertNotNull(createdOrder);
         assertEquals(50.0, createdOrder.getTotal());
         verify(orderRepository, times(1)).save(Mockito.any(Order.class));
+        verify(outboxRepository, times(1)).save(captor.capture());
+        assertEquals(3, new ObjectMapper().readTree(captor.getValue().getPayload()).get("itemCount").asInt());
+    }
+
+    @Test
+    void testCreateOrderWritesOrderCreatedEvent() throws Exception {
+        // Arrange
+        testOrder.addLine(new OrderLine(10L, 3, 1.5));
+        when(orderRepository.save(Mockito.any(Order.class))).thenReturn(testOrder);
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        // Act
+        orderService.createOrder(testOrder, "alice");
+        // Assert
+        verify(outboxRepository).save(captor.capture());
+        OutboxEvent event = captor.getValue();
+        assertEquals("OrderCreated", event.getEventType());
+        assertEquals(1L, event.getAggregateId());
+        assertNull(event.getPublishedAt());
+        var payload = new ObjectMapper().readTree(event.getPayload());
+        assertEquals(1L, payload.get("orderId").asLong());
+        assertEquals("alice", payload.get("customerId").asText());
+        assertEquals(100.0, payload.get("total").asDouble());
+        assertEquals(3, payload.get("itemCount").asInt());
+    }
+
+    @Test
+    void testCreateOrderRecordsCustomerStatusAndTime() {
+        // Arrange
+        Order order = new Order();
+        when(orderRepository.save(Mockito.any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        // Act
+        Order created = orderService.createOrder(order, "alice");
+        // Assert
+        assertEquals("alice", created.getCustomerId());
+        assertEquals(OrderStatus.CREATED, created.getStatus());
+        assertNotNull(created.getCreatedAt());
+    }
+
+    @Test
+    void testCreateOrdersSavesOrdersAndEventsTogether() throws Exception {
+        // Arrange
+        Order first = new Order();
+        first.setId(1L);
+        first.addLine(new OrderLine(10L, 2, 1.5));
+        Order second = new Order();
+        second.setId(2L);
+        List<Order> orders = List.of(first, second);
+        when(orderRepository.saveAll(orders)).thenReturn(orders);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OutboxEvent>> captor = ArgumentCaptor.forClass(List.class);
+        // Act
+        orderService.createOrders(orders, "bob");
+        // Assert
+        verify(outboxRepository).saveAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        var payload = new ObjectMapper().readTree(captor.getValue().get(0).getPayload());
+        assertEquals("bob", payload.get("customerId").asText());
+        assertEquals(2, payload.get("itemCount").asInt());
+        assertEquals(first.getCreatedAt(), second.getCreatedAt());
+    }
+
+    @Test
+    void testCreateOrdersRejectsOversizedBatch() {
+        // Arrange
+        List<Order> orders = Collections.nCopies(OrderService.MAX_BULK_ORDERS + 1, new Order());
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> orderService.createOrders(orders, "bob"));
+        Mockito.verifyNoInteractions(orderRepository);
     }
 
     @Test
@@ -1,34 +0,0 @@
-package com.example.product.config;
-
-import io.jsonwebtoken.*;
-import org.springframework.stereotype.Component;
-import java.util.Date;
-import org.springframework.beans.factory.annotation.Value;
-
-@Component
-public class JwtUtil {
-    @Value("${test-product-service-secret}")
-    private String secret;
-
-    public String generateToken(String username) {
-        return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
-                .signWith(SignatureAlgorithm.HS256, secret)
-                .compact();
-    }
-
-    public String extractUsername(String token) {
-        return Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody().getSubject();
-    }
-
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parser().setSigningKey(secret).parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
-    }
-} 
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.example.product.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Cache in front of ProductRepository's by-id reads. It records stats, which Boot binds to the Prometheus
+ * registry as cache.gets (hit/miss), cache.puts, cache.evictions and cache.size.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(ProductCacheProperties.class)
+public class ProductCacheConfig {
+    public static final String PRODUCTS = "products";
+
+    @Bean
+    public CacheManager cacheManager(ProductCacheProperties properties) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                new CaffeineCache(PRODUCTS, Caffeine.newBuilder()
+                        .maximumSize(properties.getMaxSize())
+                        .expireAfterWrite(properties.getTtl())
+                        .recordStats()
+                        .build())));
+        return cacheManager;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.product.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "product.cache")
+public class ProductCacheProperties {
+    /** Most products kept in the by-id cache. */
+    private long maxSize = 10_000;
+
+    /** How long a cached product is served before it is reloaded. */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    public long getMaxSize() { return maxSize; }
+    public void setMaxSize(long maxSize) { this.maxSize = maxSize; }
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+}
@@ -0,0 +1,9 @@
+package com.example.product.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ProductImportProperties.class)
+public class ProductImportConfig {
+}
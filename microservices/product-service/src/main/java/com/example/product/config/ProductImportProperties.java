@@ -0,0 +1,17 @@
+package com.example.product.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "product.import")
+public class ProductImportProperties {
+    /** Rows written per JDBC batch and transaction; progress is reported after each one. */
+    private int batchSize = 1_000;
+
+    /** Rejected rows after which an import stops reading; rows already written stay written. */
+    private int maxErrors = 1_000;
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public int getMaxErrors() { return maxErrors; }
+    public void setMaxErrors(int maxErrors) { this.maxErrors = maxErrors; }
+}
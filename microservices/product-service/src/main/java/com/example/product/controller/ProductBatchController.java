@@ -0,0 +1,57 @@
+package com.example.product.controller;
+
+import com.example.product.dto.ProductBatchDTO;
+import com.example.product.dto.ProductDTO;
+import com.example.product.mapper.ProductMapper;
+import com.example.product.service.ProductService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Multi-product lookups, so callers such as order-service resolve many ids in one round trip.
+ * Ids that do not exist are listed in {@code missingIds} rather than failing the request. Kept
+ * apart from {@link ProductController} because Spring would join its {@code /products} prefix and
+ * a {@code :batchGet} suffix with a slash.
+ */
+@RestController
+public class ProductBatchController {
+
+    private final ProductService productService;
+    private final ProductMapper productMapper;
+
+    public ProductBatchController(ProductService productService, ProductMapper productMapper) {
+        this.productService = productService;
+        this.productMapper = productMapper;
+    }
+
+    @PostMapping({"/products:batchGet", "/products/batch"})
+    public ProductBatchDTO batchGetProducts(@RequestBody(required = false) List<Long> ids) {
+        return lookup(ids);
+    }
+
+    // GET /products?ids=1,2,3 for callers that want a cacheable URL; long lists belong in the POST body.
+    @GetMapping(value = "/products", params = "ids")
+    public ProductBatchDTO getProductsByIds(@RequestParam List<Long> ids) {
+        return lookup(ids);
+    }
+
+    private ProductBatchDTO lookup(List<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("A JSON array of product ids is required");
+        }
+        List<ProductDTO> products = productService.getProductsByIds(ids).stream()
+                .map(productMapper::toDto)
+                .collect(Collectors.toList());
+        Set<Long> missing = new LinkedHashSet<>(ids);
+        products.forEach(product -> missing.remove(product.getId()));
+        return new ProductBatchDTO(products, List.copyOf(missing));
+    }
+}
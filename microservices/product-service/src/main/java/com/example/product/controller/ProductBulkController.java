@@ -0,0 +1,167 @@
+package com.example.product.controller;
+
+import com.example.product.dto.ProductImportErrorDTO;
+import com.example.product.dto.ProductImportProgressDTO;
+import com.example.product.service.ProductImportService;
+import com.example.product.service.ProductRowReader;
+import com.example.product.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Catalog import and export for bulk syncs. Both directions stream, so memory stays flat whatever
+ * the catalog size, and an export can be fed back to the import unchanged.
+ */
+@RestController
+public class ProductBulkController {
+
+    static final String TEXT_CSV_VALUE = "text/csv";
+    static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
+    private final ProductImportService productImportService;
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+
+    public ProductBulkController(ProductImportService productImportService, ProductService productService,
+                                 ObjectMapper objectMapper) {
+        this.productImportService = productImportService;
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Upserts the products in a CSV or NDJSON body. The response is NDJSON: one line per rejected row
+     * as it is found, a progress line after every batch, and a final line with the totals and a status
+     * of {@code completed} or {@code aborted}. A CSV body without a usable header is rejected with 400
+     * before anything is written.
+     */
+    @PostMapping(value = "/products/import", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importProducts(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Charset charset = request.getCharacterEncoding() == null
+                ? StandardCharsets.UTF_8 : Charset.forName(request.getCharacterEncoding());
+        BufferedReader body = new BufferedReader(new InputStreamReader(request.getInputStream(), charset));
+        ProductRowReader rows = TEXT_CSV.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? ProductRowReader.csv(body)
+                : ProductRowReader.ndjson(body, objectMapper);
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream());
+        ProductImportProgressDTO result = productImportService.importProducts(rows, new ProductImportService.Listener() {
+            @Override
+            public void onError(ProductImportErrorDTO error) {
+                write(writer, error, false);
+            }
+
+            @Override
+            public void onProgress(ProductImportProgressDTO progress) {
+                write(writer, progress, true);
+            }
+        });
+        writer.write(result);
+        writer.flush();
+        response.getOutputStream().write('\n');
+    }
+
+    /**
+     * Streams the catalog as NDJSON, or as CSV with an {@code id,name,price} header when
+     * {@code format=csv} or the client accepts {@code text/csv}. Rows come straight off the database cursor.
+     */
+    @GetMapping("/products/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        boolean csv;
+        if (format != null) {
+            csv = switch (format.toLowerCase(Locale.ROOT)) {
+                case "csv" -> true;
+                case "ndjson" -> false;
+                default -> throw new IllegalArgumentException("Unknown export format: " + format);
+            };
+        } else {
+            csv = accept != null && MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(type -> type.getType().equals("text") && type.getSubtype().equals("csv"));
+        }
+        if (csv) {
+            return ResponseEntity.ok()
+                    .contentType(new MediaType(TEXT_CSV, StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename("products.csv").build().toString())
+                    .body(this::writeCsv);
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(out -> {
+            SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out);
+            AtomicBoolean written = new AtomicBoolean();
+            productService.streamAllProducts(product -> {
+                write(writer, product, false);
+                written.set(true);
+            });
+            writer.flush();
+            // Ends the last line; an empty catalog stays an empty body
+            if (written.get()) {
+                out.write('\n');
+            }
+        });
+    }
+
+    private void writeCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("id,name,price\n");
+        productService.streamAllProducts(product -> {
+            try {
+                writer.write(product.getId() + "," + csvField(product.getName()) + "," + product.getPrice() + "\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    // Quotes a field only when it holds a comma, quote or line break, doubling embedded quotes.
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static void write(SequenceWriter writer, Object value, boolean flush) {
+        try {
+            writer.write(value);
+            if (flush) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package com.example.product.controller;
 
 import com.example.product.dto.ProductDTO;
+import com.example.product.mapper.ProductMapper;
 import com.example.product.model.Product;
 import com.example.product.service.ProductService;
-import org.springframework.beans.BeanUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 @RestController
@@ -15,37 +25,122 @@ import java.util.stream.Collectors;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductMapper productMapper, ObjectMapper objectMapper) {
         this.productService = productService;
+        this.productMapper = productMapper;
+        this.objectMapper = objectMapper;
     }
 
-    @GetMapping
-    public List<ProductDTO> getAllProducts() {
-        return productService.getAllProducts().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_SEARCH_RESULTS = 100;
+    // Every skipped product is still walked, so deep pages belong to keyset paging (?after=).
+    static final int MAX_OFFSET = 10_000;
+
+    // A keyset page of at most limit products with an id greater than after, in id order; the next page is
+    // linked while pages come back full. The ETag covers the page's ids and versions, so a matching
+    // If-None-Match is answered with 304 before mapping a single DTO.
+    // With minPrice, maxPrice or sort=price[,desc] the products come from the in-memory price index instead,
+    // a page of at most limit after offset, with the size of the whole range in X-Total-Count.
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ProductDTO>> getAllProducts(@RequestParam(required = false) Double minPrice,
+                                                           @RequestParam(required = false) Double maxPrice,
+                                                           @RequestParam(required = false) String sort,
+                                                           @RequestParam(defaultValue = "0") int offset,
+                                                           @RequestParam(defaultValue = "0") Long after,
+                                                           @RequestParam(defaultValue = "" + MAX_PAGE_SIZE) int limit,
+                                                           WebRequest request) {
+        if (minPrice != null || maxPrice != null || sort != null) {
+            return getProductsByPrice(minPrice == null ? Double.NEGATIVE_INFINITY : minPrice,
+                    maxPrice == null ? Double.POSITIVE_INFINITY : maxPrice, sort, offset, limit);
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Product> page = productService.getProductsAfter(after, pageSize);
+        String eTag = pageETag(page);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag);
+        if (page.size() == pageSize) {
+            Long next = page.get(page.size() - 1).getId();
+            response.header("X-Next-Cursor", next.toString())
+                    .header(HttpHeaders.LINK, "</products?after=" + next + "&limit=" + pageSize + ">; rel=\"next\"");
+        }
+        return response.body(page.stream().map(productMapper::toDto).collect(Collectors.toList()));
+    }
+
+    private ResponseEntity<List<ProductDTO>> getProductsByPrice(double minPrice, double maxPrice, String sort,
+                                                                int offset, int limit) {
+        if (Double.isNaN(minPrice) || Double.isNaN(maxPrice) || minPrice > maxPrice) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        if (offset < 0 || offset > MAX_OFFSET) {
+            throw new IllegalArgumentException("offset must be between 0 and " + MAX_OFFSET);
+        }
+        boolean descending = switch (sort == null ? "price" : sort) {
+            case "price", "price,asc" -> false;
+            case "price,desc", "-price" -> true;
+            default -> throw new IllegalArgumentException("Unsupported sort: " + sort + "; use price or price,desc");
+        };
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(productService.countProductsByPrice(minPrice, maxPrice)))
+                .body(productService.getProductsByPrice(minPrice, maxPrice, descending, offset, pageSize));
+    }
+
+    // One JSON document per line, written as rows come off the cursor, so memory stays flat for any catalog size.
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProducts() {
+        StreamingResponseBody body = out -> {
+            SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out);
+            AtomicBoolean written = new AtomicBoolean();
+            productService.streamAllProducts(product -> {
+                try {
+                    writer.write(product);
+                    written.set(true);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            // Ends the last line; an empty result stays an empty body
+            if (written.get()) {
+                out.write('\n');
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // Typeahead: every word of q must prefix a word of the product name, e.g. "choc mil".
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<ProductDTO> searchProducts(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        return productService.searchProducts(q, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
     }
 
     @GetMapping("/{id}")
-    public ProductDTO getProductById(@PathVariable Long id) {
+    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id) {
         Product product = productService.getProductById(id);
-        return convertToDto(product);
+        return ResponseEntity.ok().eTag(String.valueOf(product.getVersion())).body(productMapper.toDto(product));
     }
 
     @PostMapping
     public ProductDTO createProduct(@Valid @RequestBody ProductDTO productDTO) {
-        Product product = convertToEntity(productDTO);
+        Product product = productMapper.toEntity(productDTO);
         Product savedProduct = productService.saveProduct(product);
-        return convertToDto(savedProduct);
+        return productMapper.toDto(savedProduct);
     }
 
+    // If-Match takes the ETag from GET /products/{id}; a product changed since then is answered with 412.
     @PutMapping("/{id}")
-    public ProductDTO updateProduct(@PathVariable Long id, @Valid @RequestBody ProductDTO productDTO) {
-        Product product = convertToEntity(productDTO);
-        product.setId(id);
-        Product updatedProduct = productService.saveProduct(product);
-        return convertToDto(updatedProduct);
+    public ResponseEntity<ProductDTO> updateProduct(@PathVariable Long id, @Valid @RequestBody ProductDTO productDTO,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Product updatedProduct = productService.updateProduct(id, productMapper.toEntity(productDTO),
+                expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(updatedProduct.getVersion()))
+                .body(productMapper.toDto(updatedProduct));
     }
 
     @DeleteMapping("/{id}")
@@ -53,15 +148,30 @@ public class ProductController {
         productService.deleteProduct(id);
     }
 
-    private ProductDTO convertToDto(Product product) {
-        ProductDTO productDto = new ProductDTO();
-        BeanUtils.copyProperties(product, productDto);
-        return productDto;
+    // The version in an If-Match ETag such as "3" or W/"3"; null when absent or "*".
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match must be a product ETag, e.g. \"3\"");
+        }
     }
 
-    private Product convertToEntity(ProductDTO productDto) {
-        Product product = new Product();
-        BeanUtils.copyProperties(productDto, product);
-        return product;
+    // Changes whenever a product on the page is added, removed or updated, since each of those changes an id or a version.
+    private static String pageETag(List<Product> products) {
+        long hash = products.size();
+        for (Product product : products) {
+            hash = 31 * hash + product.getId();
+            hash = 31 * hash + (product.getVersion() == null ? 0 : product.getVersion());
+        }
+        return Long.toHexString(hash);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.example.product.dto;
+
+import java.util.List;
+
+/** Result of a batch lookup: the products found, in request order, and the requested ids that do not exist. */
+public record ProductBatchDTO(List<ProductDTO> products, List<Long> missingIds) {
+}
@@ -12,6 +12,15 @@ public class ProductDTO {
     @Positive(message = "Product price must be positive")
     private double price;
 
+    public ProductDTO() {
+    }
+
+    public ProductDTO(Long id, String name, double price) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+    }
+
     // Getters and setters
     public Long getId() {
         return id;
@@ -0,0 +1,5 @@
+package com.example.product.dto;
+
+/** A rejected import row: its 1-based line in the uploaded body and why it was not written. */
+public record ProductImportErrorDTO(long line, String error) {
+}
@@ -0,0 +1,8 @@
+package com.example.product.dto;
+
+/**
+ * Running totals of a product import, reported after every batch; the last one has status
+ * {@code completed}, or {@code aborted} if the import stopped at the error limit.
+ */
+public record ProductImportProgressDTO(long processed, long inserted, long updated, long failed, String status) {
+}
@@ -0,0 +1,23 @@
+package com.example.product.mapper;
+
+import com.example.product.dto.ProductDTO;
+import com.example.product.model.Product;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Compile-time generated conversion between {@link Product} and {@link ProductDTO}. Any target
+ * property that is neither mapped nor explicitly ignored fails the build.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface ProductMapper {
+
+    ProductDTO toDto(Product product);
+
+    // Id and version are owned by the entity, never taken from the body; a client-supplied id would
+    // turn the insert into a merge
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Product toEntity(ProductDTO productDto);
+}
@@ -1,18 +1,23 @@
 package com.example.product.model;
 
+import com.example.persistence.PooledSequence;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
 
 @Entity
 public class Product {
+    // Pooled sequence ids (rather than IDENTITY) let Hibernate batch product inserts.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("product_seq")
     private Long id;
     private String name;
     private double price;
 
+    // Drives the ETag on product reads.
+    @Version
+    private Long version;
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -37,4 +42,12 @@ public class Product {
     public void setPrice(double price) {
         this.price = price;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 } 
\ No newline at end of file
@@ -1,7 +1,37 @@
 package com.example.product.repository;
 
+import com.example.product.dto.ProductDTO;
 import com.example.product.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
-} 
\ No newline at end of file
+    @Query("select p from Product p where p.id > :after order by p.id")
+    List<Product> findPageAfter(@Param("after") Long after, Limit limit);
+
+    // Projected straight to DTOs so nothing accumulates in the persistence context while streaming.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.product.dto.ProductDTO(p.id, p.name, p.price) from Product p order by p.id")
+    Stream<ProductDTO> streamAllAsDto();
+
+    // Price queries for when ProductPriceIndex has not been loaded yet.
+    @Query("select new com.example.product.dto.ProductDTO(p.id, p.name, p.price) from Product p"
+            + " where p.price between :minPrice and :maxPrice order by p.price, p.id")
+    List<ProductDTO> findByPriceAscending(@Param("minPrice") double minPrice, @Param("maxPrice") double maxPrice,
+                                          Limit limit);
+
+    @Query("select new com.example.product.dto.ProductDTO(p.id, p.name, p.price) from Product p"
+            + " where p.price between :minPrice and :maxPrice order by p.price desc, p.id desc")
+    List<ProductDTO> findByPriceDescending(@Param("minPrice") double minPrice, @Param("maxPrice") double maxPrice,
+                                           Limit limit);
+
+    long countByPriceBetween(double minPrice, double maxPrice);
+}
@@ -0,0 +1,236 @@
+package com.example.product.service;
+
+import com.example.product.config.ProductCacheConfig;
+import com.example.product.config.ProductImportProperties;
+import com.example.product.dto.ProductDTO;
+import com.example.product.dto.ProductImportErrorDTO;
+import com.example.product.dto.ProductImportProgressDTO;
+import com.example.product.model.Product;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk upsert of products read from a {@link ProductRowReader}. Rows are validated as they are read
+ * and written with plain JDBC batches, one transaction per batch, so neither the persistence context
+ * nor the open transaction grows with the upload. Rows with an id update that product; rows without
+ * one are inserted with ids from the product sequence. Each committed batch is applied to the caches,
+ * the {@link ProductSearchIndex} and the {@link ProductPriceIndex}.
+ */
+@Service
+public class ProductImportService {
+
+    /** Receives rejected rows as they are found and running totals after every batch. */
+    public interface Listener {
+        void onError(ProductImportErrorDTO error);
+
+        void onProgress(ProductImportProgressDTO progress);
+    }
+
+    static final int MAX_NAME_LENGTH = 255;
+
+    private static final String INSERT_PRODUCT = "insert into product (id, name, price, version) values (?, ?, ?, 0)";
+    private static final String UPDATE_PRODUCT =
+            "update product set name = ?, price = ?, version = version + 1 where id = ?";
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final IdentifierGenerator idGenerator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductImportProperties properties;
+    private final Cache productCache;
+    private final ProductSearchIndex searchIndex;
+    private final ProductPriceIndex priceIndex;
+    private final Counter insertedRows;
+    private final Counter updatedRows;
+    private final Counter failedRows;
+
+    public ProductImportService(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager, ProductImportProperties properties,
+                                CacheManager cacheManager, ProductSearchIndex searchIndex,
+                                ProductPriceIndex priceIndex, MeterRegistry registry) {
+        if (properties.getBatchSize() < 1) {
+            throw new IllegalArgumentException("product.import.batch-size must be at least 1");
+        }
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.idGenerator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Product.class).getGenerator();
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.productCache = cacheManager.getCache(ProductCacheConfig.PRODUCTS);
+        this.searchIndex = searchIndex;
+        this.priceIndex = priceIndex;
+        this.insertedRows = rowCounter(registry, "inserted");
+        this.updatedRows = rowCounter(registry, "updated");
+        this.failedRows = rowCounter(registry, "failed");
+    }
+
+    /**
+     * Reads every row, reporting rejected ones and progress to the listener, and returns the final
+     * totals. Stops reading once more than {@code product.import.max-errors} rows have failed; batches
+     * written before then stay committed.
+     */
+    public ProductImportProgressDTO importProducts(ProductRowReader reader, Listener listener) throws IOException {
+        Totals totals = new Totals();
+        List<ProductRowReader.Row> batch = new ArrayList<>(properties.getBatchSize());
+        ProductRowReader.Row row;
+        while (totals.failed <= properties.getMaxErrors() && (row = reader.next()) != null) {
+            totals.processed++;
+            String error = row.error() != null ? row.error() : validate(row);
+            if (error != null) {
+                fail(totals, listener, row.line(), error);
+                continue;
+            }
+            batch.add(row);
+            if (batch.size() == properties.getBatchSize()) {
+                write(batch, totals, listener);
+                listener.onProgress(totals.snapshot("running"));
+            }
+        }
+        write(batch, totals, listener);
+        return totals.snapshot(totals.failed > properties.getMaxErrors() ? "aborted" : "completed");
+    }
+
+    private static String validate(ProductRowReader.Row row) {
+        if (row.name() == null || row.name().isBlank()) {
+            return "Product name must not be blank";
+        }
+        if (row.name().length() > MAX_NAME_LENGTH) {
+            return "Product name must be at most " + MAX_NAME_LENGTH + " characters";
+        }
+        if (row.price() == null || !(row.price() > 0) || row.price().isInfinite()) {
+            return "Product price must be positive";
+        }
+        return null;
+    }
+
+    // Writes and clears the batch; if the database rejects it, every row in it is reported as failed.
+    private void write(List<ProductRowReader.Row> batch, Totals totals, Listener listener) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<ProductRowReader.Row> inserts = new ArrayList<>();
+        List<ProductRowReader.Row> updates = new ArrayList<>();
+        for (ProductRowReader.Row row : batch) {
+            (row.id() == null ? inserts : updates).add(row);
+        }
+        List<Long> newIds = nextIds(inserts.size());
+        try {
+            int[] updateCounts = transactionTemplate.execute(status -> {
+                if (!inserts.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_PRODUCT, rows(inserts, (ps, row, i) -> {
+                        ps.setLong(1, newIds.get(i));
+                        ps.setString(2, row.name());
+                        ps.setDouble(3, row.price());
+                    }));
+                }
+                if (updates.isEmpty()) {
+                    return new int[0];
+                }
+                return jdbcTemplate.batchUpdate(UPDATE_PRODUCT, rows(updates, (ps, row, i) -> {
+                    ps.setString(1, row.name());
+                    ps.setDouble(2, row.price());
+                    ps.setLong(3, row.id());
+                }));
+            });
+            totals.inserted += inserts.size();
+            insertedRows.increment(inserts.size());
+            List<ProductDTO> written = new ArrayList<>(batch.size());
+            for (int i = 0; i < inserts.size(); i++) {
+                written.add(new ProductDTO(newIds.get(i), inserts.get(i).name(), inserts.get(i).price()));
+            }
+            for (int i = 0; i < updates.size(); i++) {
+                ProductRowReader.Row row = updates.get(i);
+                if (updateCounts[i] == 0) {
+                    fail(totals, listener, row.line(), "Product not found: " + row.id());
+                } else {
+                    totals.updated++;
+                    updatedRows.increment();
+                    productCache.evict(row.id());
+                    written.add(new ProductDTO(row.id(), row.name(), row.price()));
+                }
+            }
+            searchIndex.putAll(written);
+            priceIndex.putAll(written);
+        } catch (DataAccessException e) {
+            String reason = "Batch rejected: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (ProductRowReader.Row row : batch) {
+                fail(totals, listener, row.line(), reason);
+            }
+        }
+        batch.clear();
+    }
+
+    private interface RowSetter {
+        void setValues(PreparedStatement ps, ProductRowReader.Row row, int index) throws SQLException;
+    }
+
+    private static BatchPreparedStatementSetter rows(List<ProductRowReader.Row> rows, RowSetter setter) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                setter.setValues(ps, rows.get(i), i);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        };
+    }
+
+    private List<Long> nextIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        if (count == 0) {
+            return ids;
+        }
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            for (int i = 0; i < count; i++) {
+                ids.add((Long) idGenerator.generate((SharedSessionContractImplementor) session, null));
+            }
+        }
+        return ids;
+    }
+
+    private void fail(Totals totals, Listener listener, long line, String error) {
+        totals.failed++;
+        failedRows.increment();
+        listener.onError(new ProductImportErrorDTO(line, error));
+    }
+
+    private static Counter rowCounter(MeterRegistry registry, String result) {
+        return Counter.builder("product.import.rows").tag("result", result)
+                .description("Product import rows by outcome").register(registry);
+    }
+
+    private static final class Totals {
+        long processed;
+        long inserted;
+        long updated;
+        long failed;
+
+        ProductImportProgressDTO snapshot(String status) {
+            return new ProductImportProgressDTO(processed, inserted, updated, failed, status);
+        }
+    }
+}
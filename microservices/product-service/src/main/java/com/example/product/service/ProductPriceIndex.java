@@ -0,0 +1,368 @@
+package com.example.product.service;
+
+import com.example.product.dto.ProductDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Products ordered by price in parallel primitive arrays, sorted by price and then id. A price range
+ * is a binary search for each end, so counting a range costs nothing per product and a page, from
+ * either the cheap or the expensive end, only creates the DTOs it returns.
+ * <p>
+ * Published arrays are never modified, so reads take no lock. Writes leave the large base arrays
+ * alone: they add the product's old base position to a small sorted array of removed positions and
+ * merge the new entry into a small sorted delta, which queries merge with the base on the fly. A write
+ * therefore copies at most {@value #MAX_DELTA} entries, whatever the catalog size. Once the delta or
+ * the removed positions hold more than that they are folded into a new base, along with a primitive
+ * id-to-position table that lets writes find a product's base entry without scanning.
+ * <p>
+ * The index is not {@linkplain #isReady() ready} until the first {@link #rebuild} has finished. A
+ * rebuild journals writes from before it opens its source, sorts the products without the write lock,
+ * and replays the journal onto the new base before it is published, so none of them is lost.
+ */
+@Component
+public class ProductPriceIndex {
+
+    static final int MAX_DELTA = 4096;
+
+    private static final Comparator<ProductDTO> BY_PRICE_THEN_ID =
+            Comparator.comparingDouble(ProductDTO::getPrice).thenComparing(ProductDTO::getId);
+    private static final Sorted EMPTY = new Sorted(new double[0], new long[0], new String[0]);
+
+    /** Entries in price, then id, order. */
+    private record Sorted(double[] prices, long[] ids, String[] names) {
+        int size() {
+            return ids.length;
+        }
+
+        // First position not ordered before (price, id).
+        int lowerBound(double price, long id) {
+            int low = 0;
+            int high = ids.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (before(prices[mid], ids[mid], price, id)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * The base with its id lookup, the sorted base positions whose product has since changed or gone,
+     * and the delta.
+     */
+    private record Snapshot(Sorted base, PositionsById positions, int[] removed, Sorted delta) {
+        static Snapshot of(Sorted base) {
+            return new Snapshot(base, new PositionsById(base.ids()), new int[0], EMPTY);
+        }
+
+        boolean isRemoved(int position) {
+            return Arrays.binarySearch(removed, position) >= 0;
+        }
+
+        int removedBetween(int from, int to) {
+            return firstRemovedFrom(to) - firstRemovedFrom(from);
+        }
+
+        // Index in 'removed' of the first position at or after the given one.
+        int firstRemovedFrom(int position) {
+            int found = Arrays.binarySearch(removed, position);
+            return found >= 0 ? found : -found - 1;
+        }
+    }
+
+    /** A write as {@link #write} takes it, kept while a rebuild is running. */
+    private record Write(long[] changed, List<ProductDTO> added) {
+    }
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Snapshot snapshot = Snapshot.of(EMPTY);
+    private volatile boolean ready;
+    // Guarded by writeLock; non-null only while a rebuild is sorting.
+    private List<Write> journal;
+
+    /** Whether a rebuild has loaded the products; until then queries would see an empty index. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current.base().size() - current.removedBetween(0, current.base().size()) + current.delta().size();
+    }
+
+    /** Number of products priced from {@code minPrice} to {@code maxPrice}, both inclusive. */
+    public int count(double minPrice, double maxPrice) {
+        Snapshot current = snapshot;
+        int from = current.base().lowerBound(minPrice, Long.MIN_VALUE);
+        int to = Math.max(from, current.base().lowerBound(maxPrice, Long.MAX_VALUE));
+        return to - from - current.removedBetween(from, to)
+                + Math.max(0, current.delta().lowerBound(maxPrice, Long.MAX_VALUE)
+                        - current.delta().lowerBound(minPrice, Long.MIN_VALUE));
+    }
+
+    /**
+     * Up to {@code limit} products priced from {@code minPrice} to {@code maxPrice} inclusive, cheapest
+     * first or, when {@code descending}, most expensive first, after skipping {@code offset} of them.
+     * Equal prices are in id order, reversed when descending. An unbounded range gives the top-K overall.
+     */
+    public List<ProductDTO> range(double minPrice, double maxPrice, boolean descending, int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        Snapshot current = snapshot;
+        Sorted base = current.base();
+        Sorted delta = current.delta();
+        int baseFrom = base.lowerBound(minPrice, Long.MIN_VALUE);
+        int baseTo = Math.max(baseFrom, base.lowerBound(maxPrice, Long.MAX_VALUE));
+        int deltaFrom = delta.lowerBound(minPrice, Long.MIN_VALUE);
+        int deltaTo = Math.max(deltaFrom, delta.lowerBound(maxPrice, Long.MAX_VALUE));
+        List<ProductDTO> page = new ArrayList<>(Math.max(0, Math.min(limit, 64)));
+        int skipped = 0;
+        int step = descending ? -1 : 1;
+        int b = descending ? baseTo - 1 : baseFrom;
+        int d = descending ? deltaTo - 1 : deltaFrom;
+        while (page.size() < limit) {
+            while (b >= baseFrom && b < baseTo && current.isRemoved(b)) {
+                b += step;
+            }
+            boolean baseLeft = b >= baseFrom && b < baseTo;
+            boolean deltaLeft = d >= deltaFrom && d < deltaTo;
+            if (!baseLeft && !deltaLeft) {
+                break;
+            }
+            boolean fromBase = !deltaLeft || (baseLeft
+                    && before(base.prices()[b], base.ids()[b], delta.prices()[d], delta.ids()[d]) != descending);
+            Sorted source = fromBase ? base : delta;
+            int position = fromBase ? b : d;
+            if (fromBase) {
+                b += step;
+            } else {
+                d += step;
+            }
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                page.add(new ProductDTO(source.ids()[position], source.names()[position], source.prices()[position]));
+            }
+        }
+        return page;
+    }
+
+    /** Adds the product, or moves it to its new price. */
+    public void put(ProductDTO product) {
+        putAll(List.of(product));
+    }
+
+    /** Adds or moves the products with a single delta merge, so a batch costs about as much as one product. */
+    public void putAll(Collection<ProductDTO> products) {
+        Map<Long, ProductDTO> latest = new LinkedHashMap<>();
+        for (ProductDTO product : products) {
+            latest.put(product.getId(), product);
+        }
+        List<ProductDTO> added = new ArrayList<>(latest.values());
+        added.sort(BY_PRICE_THEN_ID);
+        long[] changed = latest.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        write(changed, added);
+    }
+
+    public void remove(Long id) {
+        write(new long[] {id}, List.of());
+    }
+
+    /**
+     * Replaces the index with the products the source streams. Writes are journaled from before the
+     * source is opened, so a write committed while the query starts is not missed, and replayed on top
+     * of the products read and sorted, so they win over the rows the query returned.
+     */
+    public void rebuild(Supplier<Stream<ProductDTO>> source) {
+        rebuildLock.lock();
+        try {
+            setJournal(new ArrayList<>());
+            Snapshot rebuilt;
+            try (Stream<ProductDTO> products = source.get()) {
+                List<ProductDTO> all = new ArrayList<>();
+                products.forEach(all::add);
+                all.sort(BY_PRICE_THEN_ID);
+                rebuilt = Snapshot.of(merge(EMPTY, new int[0], new long[0], all));
+            } catch (RuntimeException e) {
+                setJournal(null);
+                throw e;
+            }
+            writeLock.lock();
+            try {
+                for (Write write : journal) {
+                    rebuilt = apply(rebuilt, write.changed(), write.added());
+                }
+                journal = null;
+                snapshot = rebuilt;
+                ready = true;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void setJournal(List<Write> writes) {
+        writeLock.lock();
+        try {
+            journal = writes;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 'changed' is sorted; 'added' is sorted by price, then id.
+    private void write(long[] changed, List<ProductDTO> added) {
+        writeLock.lock();
+        try {
+            if (journal != null) {
+                journal.add(new Write(changed, added));
+            }
+            snapshot = apply(snapshot, changed, added);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static Snapshot apply(Snapshot current, long[] changed, List<ProductDTO> added) {
+        int[] removed = addRemoved(current, changed);
+        Sorted delta = merge(current.delta(), new int[0], changed, added);
+        return delta.size() > MAX_DELTA || removed.length > MAX_DELTA
+                ? Snapshot.of(merge(current.base(), removed, new long[0], toProducts(delta)))
+                : new Snapshot(current.base(), current.positions(), removed, delta);
+    }
+
+    // The snapshot's removed positions plus the base positions of the changed ids, still sorted.
+    private static int[] addRemoved(Snapshot current, long[] changed) {
+        int[] positions = new int[changed.length];
+        int count = 0;
+        for (long id : changed) {
+            int position = current.positions().get(id);
+            if (position >= 0 && !current.isRemoved(position)) {
+                positions[count++] = position;
+            }
+        }
+        if (count == 0) {
+            return current.removed();
+        }
+        Arrays.sort(positions, 0, count);
+        int[] old = current.removed();
+        int[] removed = new int[old.length + count];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < old.length || j < count) {
+            removed[n++] = j == count || (i < old.length && old[i] < positions[j]) ? old[i++] : positions[j++];
+        }
+        return removed;
+    }
+
+    // Merges 'added' into 'into', leaving out entries whose id is in 'dropped' or whose position is in
+    // the sorted 'removed'.
+    private static Sorted merge(Sorted into, int[] removed, long[] dropped, List<ProductDTO> added) {
+        int capacity = into.size() + added.size();
+        double[] prices = new double[capacity];
+        long[] ids = new long[capacity];
+        String[] names = new String[capacity];
+        int n = 0;
+        int next = 0;
+        int nextRemoved = 0;
+        for (int i = 0; i < into.size(); i++) {
+            if (nextRemoved < removed.length && removed[nextRemoved] == i) {
+                nextRemoved++;
+                continue;
+            }
+            if (Arrays.binarySearch(dropped, into.ids()[i]) >= 0) {
+                continue;
+            }
+            while (next < added.size()
+                    && before(added.get(next).getPrice(), added.get(next).getId(), into.prices()[i], into.ids()[i])) {
+                ProductDTO product = added.get(next++);
+                prices[n] = product.getPrice();
+                ids[n] = product.getId();
+                names[n++] = product.getName();
+            }
+            prices[n] = into.prices()[i];
+            ids[n] = into.ids()[i];
+            names[n++] = into.names()[i];
+        }
+        while (next < added.size()) {
+            ProductDTO product = added.get(next++);
+            prices[n] = product.getPrice();
+            ids[n] = product.getId();
+            names[n++] = product.getName();
+        }
+        if (n == capacity) {
+            return new Sorted(prices, ids, names);
+        }
+        return new Sorted(Arrays.copyOf(prices, n), Arrays.copyOf(ids, n), Arrays.copyOf(names, n));
+    }
+
+    private static List<ProductDTO> toProducts(Sorted sorted) {
+        List<ProductDTO> products = new ArrayList<>(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            products.add(new ProductDTO(sorted.ids()[i], sorted.names()[i], sorted.prices()[i]));
+        }
+        return products;
+    }
+
+    /** Base position of each id: open addressing over primitive arrays, built once per base. */
+    private static final class PositionsById {
+        private final long[] keys;
+        private final int[] positions;
+        private final int mask;
+
+        PositionsById(long[] ids) {
+            int capacity = Integer.highestOneBit(Math.max(4, ids.length * 2 - 1)) << 1;
+            keys = new long[capacity];
+            positions = new int[capacity];
+            Arrays.fill(positions, -1);
+            mask = capacity - 1;
+            for (int i = 0; i < ids.length; i++) {
+                int slot = slot(ids[i]);
+                while (positions[slot] >= 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = ids[i];
+                positions[slot] = i;
+            }
+        }
+
+        /** The id's base position, or -1. */
+        int get(long id) {
+            for (int slot = slot(id); positions[slot] >= 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == id) {
+                    return positions[slot];
+                }
+            }
+            return -1;
+        }
+
+        private int slot(long id) {
+            long hash = id * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+
+    private static boolean before(double price, long id, double otherPrice, long otherId) {
+        return price < otherPrice || (price == otherPrice && id < otherId);
+    }
+}
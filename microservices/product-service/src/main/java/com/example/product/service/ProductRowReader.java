@@ -0,0 +1,181 @@
+package com.example.product.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads an import body one line at a time, so memory does not grow with the upload. A line that
+ * cannot be parsed becomes a {@link Row} carrying the error instead of failing the import.
+ */
+public abstract class ProductRowReader {
+
+    /** One parsed line; {@code id} is null for new products, and {@code error} is set when the line is unusable. */
+    public record Row(long line, Long id, String name, Double price, String error) {
+        static Row failed(long line, String error) {
+            return new Row(line, null, null, null, error);
+        }
+    }
+
+    private final BufferedReader reader;
+    private long line;
+
+    ProductRowReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * CSV with a header row naming {@code name} and {@code price} and optionally {@code id}, in any
+     * order and case. Quoted fields may contain commas and doubled quotes but not line breaks.
+     *
+     * @throws IllegalArgumentException if the header is missing or lacks a required column
+     */
+    public static ProductRowReader csv(BufferedReader reader) throws IOException {
+        return new CsvReader(reader);
+    }
+
+    /** One JSON object per line with {@code name}, {@code price} and optionally {@code id}, as the export writes. */
+    public static ProductRowReader ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+        return new NdjsonReader(reader, objectMapper);
+    }
+
+    /** The next non-blank line as a row, or null at the end of the body. */
+    public Row next() throws IOException {
+        String text = nextLine();
+        return text == null ? null : parse(line, text);
+    }
+
+    String nextLine() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+        return text;
+    }
+
+    abstract Row parse(long line, String text);
+
+    static Long parseId(String value) {
+        return value == null || value.isBlank() ? null : Long.valueOf(value.trim());
+    }
+
+    static Double parsePrice(String value) {
+        return value == null || value.isBlank() ? null : Double.valueOf(value.trim());
+    }
+
+    private static final class CsvReader extends ProductRowReader {
+        private final int idColumn;
+        private final int nameColumn;
+        private final int priceColumn;
+
+        CsvReader(BufferedReader reader) throws IOException {
+            super(reader);
+            String header = nextLine();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV import needs a header row with name and price columns");
+            }
+            List<String> columns = split(header.startsWith("\uFEFF") ? header.substring(1) : header);
+            List<String> names = columns.stream().map(column -> column.trim().toLowerCase(Locale.ROOT)).toList();
+            this.idColumn = names.indexOf("id");
+            this.nameColumn = names.indexOf("name");
+            this.priceColumn = names.indexOf("price");
+            if (nameColumn < 0 || priceColumn < 0) {
+                throw new IllegalArgumentException("CSV header must name name and price columns, got: " + header);
+            }
+        }
+
+        @Override
+        Row parse(long line, String text) {
+            List<String> fields;
+            try {
+                fields = split(text);
+            } catch (IllegalArgumentException e) {
+                return Row.failed(line, e.getMessage());
+            }
+            try {
+                return new Row(line, idColumn < 0 ? null : parseId(field(fields, idColumn)),
+                        field(fields, nameColumn), parsePrice(field(fields, priceColumn)), null);
+            } catch (NumberFormatException e) {
+                return Row.failed(line, "id and price must be numbers");
+            }
+        }
+
+        private static String field(List<String> fields, int column) {
+            return column < fields.size() ? fields.get(column) : null;
+        }
+
+        // RFC 4180 quoting within a single line.
+        static List<String> split(String text) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    private static final class NdjsonReader extends ProductRowReader {
+        private final ObjectMapper objectMapper;
+
+        NdjsonReader(BufferedReader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        Row parse(long line, String text) {
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (JsonProcessingException e) {
+                return Row.failed(line, "Malformed JSON");
+            }
+            if (!node.isObject()) {
+                return Row.failed(line, "Expected a JSON object");
+            }
+            JsonNode id = node.path("id");
+            JsonNode name = node.path("name");
+            JsonNode price = node.path("price");
+            if (!(id.isMissingNode() || id.isNull() || id.isIntegralNumber())
+                    || !(price.isMissingNode() || price.isNull() || price.isNumber())) {
+                return Row.failed(line, "id and price must be numbers");
+            }
+            return new Row(line, id.isIntegralNumber() ? id.asLong() : null,
+                    name.isTextual() ? name.asText() : null,
+                    price.isNumber() ? price.asDouble() : null, null);
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package com.example.product.service;
+
+import com.example.product.dto.ProductDTO;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over product names for typeahead search. Names are split into lowercase,
+ * accent-folded words; a query matches a product when every query word is a prefix of one of its
+ * words, so {@code "choc mil"} finds "Dairy Milk Chocolate". Terms live in a sorted map, so a prefix
+ * is a range scan, and each term's posting list is a sorted {@code long[]} of product ids.
+ * <p>
+ * Reads take no lock: posting arrays are never modified once published, and each candidate is
+ * checked against the product's current words, so a search running alongside a write sees either
+ * the old or the new name. Writes are serialised and copy the posting lists they touch.
+ * <p>
+ * A {@link #rebuild} reads and indexes its products without the write lock and journals the writes
+ * that arrive meanwhile, replaying them onto the new index before it is published, so none of them is
+ * lost, as in {@link ProductPriceIndex}.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    // Query words covering more terms than this are checked per candidate rather than intersected.
+    private static final int MAX_JOINED_TERMS = 16;
+
+    private record Entry(long id, String name, double price, String[] words) {
+    }
+
+    private record Snapshot(ConcurrentSkipListMap<String, long[]> postings, ConcurrentHashMap<Long, Entry> entries) {
+    }
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Snapshot snapshot = new Snapshot(new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>());
+    // Guarded by writeLock; non-null only while a rebuild is reading.
+    private List<Consumer<Snapshot>> journal;
+
+    /** Products currently indexed. */
+    public int size() {
+        return snapshot.entries().size();
+    }
+
+    /**
+     * Up to {@code limit} products matching every word of the query as a prefix, in id order, stopping
+     * as soon as {@code limit} have matched. Query words that cover few terms are intersected by
+     * leapfrogging through their posting lists, so a rare combination of common words costs about the
+     * size of the shortest list; words that cover many terms (a one-letter prefix, say) are instead
+     * checked against each candidate's words.
+     */
+    public List<ProductDTO> search(String query, int limit) {
+        String[] words = tokenize(query);
+        if (words.length == 0 || limit < 1) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        List<WordCursor> joined = new ArrayList<>(words.length);
+        Collection<long[]> smallest = null;
+        long fewest = Long.MAX_VALUE;
+        for (String word : words) {
+            Collection<long[]> lists = prefixRange(current.postings(), word).values();
+            long total = 0;
+            for (long[] ids : lists) {
+                total += ids.length;
+            }
+            if (total == 0) {
+                return List.of();
+            }
+            if (lists.size() <= MAX_JOINED_TERMS) {
+                joined.add(new WordCursor(lists, total));
+            }
+            if (total < fewest) {
+                fewest = total;
+                smallest = lists;
+            }
+        }
+        List<ProductDTO> results = new ArrayList<>(Math.min(limit, 64));
+        if (joined.isEmpty()) {
+            IdMerger merger = new IdMerger(smallest);
+            while (results.size() < limit && merger.hasNext()) {
+                addIfMatching(current, merger.next(), words, results);
+            }
+            return results;
+        }
+        joined.sort((a, b) -> Long.compare(a.total, b.total));
+        long target = Long.MIN_VALUE;
+        candidates:
+        while (results.size() < limit) {
+            for (WordCursor cursor : joined) {
+                long id = cursor.advanceTo(target);
+                if (id == WordCursor.EXHAUSTED) {
+                    break candidates;
+                }
+                if (id > target) {
+                    target = id;
+                    continue candidates;
+                }
+            }
+            addIfMatching(current, target, words, results);
+            target++;
+        }
+        return results;
+    }
+
+    private static void addIfMatching(Snapshot snapshot, long id, String[] words, List<ProductDTO> results) {
+        Entry entry = snapshot.entries().get(id);
+        if (entry != null && matchesAll(entry.words(), words)) {
+            results.add(new ProductDTO(entry.id(), entry.name(), entry.price()));
+        }
+    }
+
+    /** Adds the product, or replaces its indexed name and price. */
+    public void put(ProductDTO product) {
+        putAll(List.of(product));
+    }
+
+    /** Adds or replaces the products, copying each affected posting list once rather than once per product. */
+    public void putAll(Collection<ProductDTO> products) {
+        Map<Long, Entry> entries = new LinkedHashMap<>();
+        for (ProductDTO product : products) {
+            entries.put(product.getId(), new Entry(product.getId(), product.getName(), product.getPrice(),
+                    tokenize(product.getName())));
+        }
+        write(current -> put(current, entries));
+    }
+
+    public void remove(Long id) {
+        write(current -> remove(current, id));
+    }
+
+    /**
+     * Replaces the whole index with the products the source streams. Writes are journaled from before
+     * the source is opened, so a write committed while the query starts is not missed, and replayed on
+     * top of the products read, so they win over the rows the query returned. Posting lists are built
+     * off to the side and swapped in at once; when the products arrive in id order, as from the
+     * repository cursor, no posting list needs sorting.
+     */
+    public void rebuild(Supplier<Stream<ProductDTO>> source) {
+        rebuildLock.lock();
+        try {
+            setJournal(new ArrayList<>());
+            Snapshot rebuilt;
+            try (Stream<ProductDTO> products = source.get()) {
+                rebuilt = build(products.iterator());
+            } catch (RuntimeException e) {
+                setJournal(null);
+                throw e;
+            }
+            writeLock.lock();
+            try {
+                for (Consumer<Snapshot> write : journal) {
+                    write.accept(rebuilt);
+                }
+                journal = null;
+                snapshot = rebuilt;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void setJournal(List<Consumer<Snapshot>> writes) {
+        writeLock.lock();
+        try {
+            journal = writes;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void write(Consumer<Snapshot> change) {
+        writeLock.lock();
+        try {
+            if (journal != null) {
+                journal.add(change);
+            }
+            change.accept(snapshot);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static void put(Snapshot current, Map<Long, Entry> entries) {
+        Map<String, List<Long>> added = new HashMap<>();
+        Map<String, List<Long>> removed = new HashMap<>();
+        for (Entry entry : entries.values()) {
+            Entry old = current.entries().get(entry.id());
+            List<String> oldWords = old == null ? List.of() : Arrays.asList(old.words());
+            List<String> newWords = Arrays.asList(entry.words());
+            for (String word : newWords) {
+                if (!oldWords.contains(word)) {
+                    added.computeIfAbsent(word, w -> new ArrayList<>()).add(entry.id());
+                }
+            }
+            for (String word : oldWords) {
+                if (!newWords.contains(word)) {
+                    removed.computeIfAbsent(word, w -> new ArrayList<>()).add(entry.id());
+                }
+            }
+        }
+        // Posting lists only ever cover both the old and the new words while the entries change,
+        // and every candidate is checked against its entry, so searches never miss a product.
+        added.forEach((word, ids) -> current.postings().merge(word, sorted(ids), ProductSearchIndex::union));
+        current.entries().putAll(entries);
+        removed.forEach((word, ids) -> removeIds(current.postings(), word, sorted(ids)));
+    }
+
+    private static void remove(Snapshot current, Long id) {
+        Entry old = current.entries().remove(id);
+        if (old != null) {
+            for (String word : old.words()) {
+                removeIds(current.postings(), word, new long[] {id});
+            }
+        }
+    }
+
+    private static Snapshot build(Iterator<ProductDTO> products) {
+        Map<String, LongList> lists = new HashMap<>();
+        ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+        while (products.hasNext()) {
+            ProductDTO product = products.next();
+            Entry entry = new Entry(product.getId(), product.getName(), product.getPrice(),
+                    tokenize(product.getName()));
+            entries.put(entry.id(), entry);
+            for (String word : entry.words()) {
+                lists.computeIfAbsent(word, w -> new LongList()).add(entry.id());
+            }
+        }
+        ConcurrentSkipListMap<String, long[]> postings = new ConcurrentSkipListMap<>();
+        lists.forEach((word, ids) -> postings.put(word, ids.toSortedArray()));
+        return new Snapshot(postings, entries);
+    }
+
+    /** Lowercase, accent-free, distinct words of the text, in order of appearance. */
+    static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : NON_WORD.split(folded)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words.toArray(new String[0]);
+    }
+
+    private static NavigableMap<String, long[]> prefixRange(ConcurrentSkipListMap<String, long[]> postings,
+                                                            String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static boolean matchesAll(String[] productWords, String[] queryWords) {
+        for (String queryWord : queryWords) {
+            boolean found = false;
+            for (String productWord : productWords) {
+                if (productWord.startsWith(queryWord)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long[] sorted(List<Long> ids) {
+        long[] array = new long[ids.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = ids.get(i);
+        }
+        Arrays.sort(array);
+        return array;
+    }
+
+    // Merge of two sorted arrays without duplicates.
+    private static long[] union(long[] a, long[] b) {
+        long[] merged = new long[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length || j < b.length) {
+            long next;
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                next = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                next = b[j++];
+            } else {
+                next = a[i++];
+                j++;
+            }
+            merged[n++] = next;
+        }
+        return n == merged.length ? merged : Arrays.copyOf(merged, n);
+    }
+
+    // Drops a term once its last product is removed. The ids to remove are sorted.
+    private static void removeIds(ConcurrentSkipListMap<String, long[]> postings, String word, long[] ids) {
+        postings.computeIfPresent(word, (w, posting) -> {
+            long[] remaining = new long[posting.length];
+            int n = 0;
+            for (long id : posting) {
+                if (Arrays.binarySearch(ids, id) < 0) {
+                    remaining[n++] = id;
+                }
+            }
+            return n == 0 ? null : n == posting.length ? posting : Arrays.copyOf(remaining, n);
+        });
+    }
+
+    /** Walks several sorted posting lists as one ascending, duplicate-free sequence of ids. */
+    private static final class IdMerger {
+        private final PriorityQueue<Cursor> queue;
+        private long last = Long.MIN_VALUE;
+        private boolean started;
+
+        private static final class Cursor {
+            final long[] ids;
+            int position;
+
+            Cursor(long[] ids) {
+                this.ids = ids;
+            }
+        }
+
+        IdMerger(Collection<long[]> lists) {
+            queue = new PriorityQueue<>(Math.max(1, lists.size()),
+                    (a, b) -> Long.compare(a.ids[a.position], b.ids[b.position]));
+            for (long[] ids : lists) {
+                if (ids.length > 0) {
+                    queue.add(new Cursor(ids));
+                }
+            }
+            skipDuplicates();
+        }
+
+        boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        long next() {
+            Cursor cursor = queue.poll();
+            long id = cursor.ids[cursor.position++];
+            if (cursor.position < cursor.ids.length) {
+                queue.add(cursor);
+            }
+            last = id;
+            started = true;
+            skipDuplicates();
+            return id;
+        }
+
+        private void skipDuplicates() {
+            while (started && !queue.isEmpty() && queue.peek().ids[queue.peek().position] == last) {
+                Cursor cursor = queue.poll();
+                cursor.position++;
+                if (cursor.position < cursor.ids.length) {
+                    queue.add(cursor);
+                }
+            }
+        }
+    }
+
+    /** The ids of one query word, the union of a few posting lists, which can skip forward to an id. */
+    private static final class WordCursor {
+        static final long EXHAUSTED = Long.MAX_VALUE;
+
+        private final long[][] lists;
+        private final int[] positions;
+        final long total;
+
+        WordCursor(Collection<long[]> lists, long total) {
+            this.lists = lists.toArray(new long[0][]);
+            this.positions = new int[this.lists.length];
+            this.total = total;
+        }
+
+        /** The smallest id at or after the target, or {@link #EXHAUSTED}. */
+        long advanceTo(long target) {
+            long smallest = EXHAUSTED;
+            for (int i = 0; i < lists.length; i++) {
+                positions[i] = gallop(lists[i], positions[i], target);
+                if (positions[i] < lists[i].length) {
+                    smallest = Math.min(smallest, lists[i][positions[i]]);
+                }
+            }
+            return smallest;
+        }
+
+        // First position at or after 'from' whose id is at least the target, probing 1, 2, 4... ahead.
+        private static int gallop(long[] ids, int from, long target) {
+            if (from >= ids.length || ids[from] >= target) {
+                return from;
+            }
+            int low = from;
+            int step = 1;
+            while (low + step < ids.length && ids[low + step] < target) {
+                low += step;
+                step <<= 1;
+            }
+            int found = Arrays.binarySearch(ids, low + 1, Math.min(low + step + 1, ids.length), target);
+            return found >= 0 ? found : -found - 1;
+        }
+    }
+
+    private static final class LongList {
+        private long[] values = new long[4];
+        private int size;
+        private boolean sorted = true;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            if (size > 0 && values[size - 1] > value) {
+                sorted = false;
+            }
+            values[size++] = value;
+        }
+
+        long[] toSortedArray() {
+            long[] array = Arrays.copyOf(values, size);
+            if (!sorted) {
+                Arrays.sort(array);
+            }
+            return array;
+        }
+    }
+}
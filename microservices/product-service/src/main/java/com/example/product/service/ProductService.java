@@ -1,34 +1,188 @@
 package com.example.product.service;
 
+import com.example.product.config.ProductCacheConfig;
+import com.example.product.dto.ProductDTO;
 import com.example.product.model.Product;
 import com.example.product.repository.ProductRepository;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class ProductService {
 
+    public static final int MAX_BATCH_SIZE = 10_000;
+    static final int IN_CHUNK_SIZE = 500;
+
     private final ProductRepository productRepository;
+    private final ProductSearchIndex searchIndex;
+    private final ProductPriceIndex priceIndex;
 
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, ProductSearchIndex searchIndex,
+                          ProductPriceIndex priceIndex) {
         this.productRepository = productRepository;
+        this.searchIndex = searchIndex;
+        this.priceIndex = priceIndex;
+    }
+
+    /** Loads every product into the search and price indexes once the application has started. */
+    @EventListener(ApplicationStartedEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndexes() {
+        searchIndex.rebuild(productRepository::streamAllAsDto);
+        priceIndex.rebuild(productRepository::streamAllAsDto);
+    }
+
+    /** Typeahead search over product names; see {@link ProductSearchIndex#search}. */
+    public List<ProductDTO> searchProducts(String query, int limit) {
+        return searchIndex.search(query, limit);
+    }
+
+    /**
+     * A page of the products priced within the inclusive range; see {@link ProductPriceIndex#range}.
+     * Until the index has been loaded at startup the page is read from the database instead.
+     */
+    public List<ProductDTO> getProductsByPrice(double minPrice, double maxPrice, boolean descending,
+                                               int offset, int limit) {
+        if (priceIndex.isReady()) {
+            return priceIndex.range(minPrice, maxPrice, descending, offset, limit);
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        Limit rows = Limit.of(offset + limit);
+        List<ProductDTO> products = descending
+                ? productRepository.findByPriceDescending(minPrice, maxPrice, rows)
+                : productRepository.findByPriceAscending(minPrice, maxPrice, rows);
+        return products.subList(Math.min(offset, products.size()), products.size());
+    }
+
+    public int countProductsByPrice(double minPrice, double maxPrice) {
+        if (priceIndex.isReady()) {
+            return priceIndex.count(minPrice, maxPrice);
+        }
+        return Math.toIntExact(productRepository.countByPriceBetween(minPrice, maxPrice));
+    }
+
+    /** Keyset page: up to {@code limit} products with an id greater than {@code after}, in id order. */
+    public List<Product> getProductsAfter(Long after, int limit) {
+        return productRepository.findPageAfter(after, Limit.of(limit));
     }
 
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    /** Hands every product to the consumer as it is read from the database cursor. */
+    @Transactional(readOnly = true)
+    public void streamAllProducts(Consumer<ProductDTO> consumer) {
+        try (Stream<ProductDTO> products = productRepository.streamAllAsDto()) {
+            products.forEach(consumer);
+        }
     }
 
+    /**
+     * Loads the distinct requested products with IN queries of at most {@link #IN_CHUNK_SIZE} ids, so
+     * a short list is one query and a long one never exceeds driver bind limits; the result keeps the
+     * request order.
+     */
+    @Transactional(readOnly = true)
+    public List<Product> getProductsByIds(Collection<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " product ids per request");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Product ids must not be null");
+        }
+        List<Long> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        Map<Long, Product> found = new HashMap<>(distinct.size() * 2);
+        for (int from = 0; from < distinct.size(); from += IN_CHUNK_SIZE) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + IN_CHUNK_SIZE, distinct.size()));
+            productRepository.findAllById(chunk).forEach(product -> found.put(product.getId(), product));
+        }
+        List<Product> products = new ArrayList<>(found.size());
+        for (Long id : distinct) {
+            Product product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    @Cacheable(cacheNames = ProductCacheConfig.PRODUCTS, key = "#id")
     public Product getProductById(Long id) {
         return productRepository.findById(id).orElseThrow(() -> new RuntimeException("Product not found"));
     }
 
+    @CachePut(cacheNames = ProductCacheConfig.PRODUCTS, key = "#result.id")
     public Product saveProduct(Product product) {
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        afterCommit(() -> index(toDto(saved)));
+        return saved;
     }
 
+    // Updates the loaded row so the @Version check applies; the returned product carries the new version.
+    // With an expected version (the client's If-Match) a product changed since the client read it is rejected.
+    @Transactional
+    @CachePut(cacheNames = ProductCacheConfig.PRODUCTS, key = "#id")
+    public Product updateProduct(Long id, Product changes, Long expectedVersion) {
+        Product product = productRepository.findById(id).orElseThrow(() -> new RuntimeException("Product not found"));
+        if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
+            throw new OptimisticLockingFailureException(
+                    "Product " + id + " is at version " + product.getVersion() + ", not " + expectedVersion);
+        }
+        product.setName(changes.getName());
+        product.setPrice(changes.getPrice());
+        Product saved = productRepository.saveAndFlush(product);
+        afterCommit(() -> index(toDto(saved)));
+        return saved;
+    }
+
+    @CacheEvict(cacheNames = ProductCacheConfig.PRODUCTS, key = "#id")
     public void deleteProduct(Long id) {
         productRepository.findById(id).orElseThrow(() -> new RuntimeException("Product not found"));
         productRepository.deleteById(id);
+        afterCommit(() -> {
+            searchIndex.remove(id);
+            priceIndex.remove(id);
+        });
+    }
+
+    private void index(ProductDTO product) {
+        searchIndex.put(product);
+        priceIndex.put(product);
+    }
+
+    private static ProductDTO toDto(Product product) {
+        return new ProductDTO(product.getId(), product.getName(), product.getPrice());
+    }
+
+    // The index must not show changes a rollback would undo, so inside a transaction it waits for the commit.
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
-} 
\ No newline at end of file
+}
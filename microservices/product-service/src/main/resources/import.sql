@@ -1,5 +1,5 @@
-INSERT INTO product (name, price) VALUES ('Apple', 0.99);
-INSERT INTO product (name, price) VALUES ('Banana', 0.59);
-INSERT INTO product (name, price) VALUES ('Carrot', 0.39);
-INSERT INTO product (name, price) VALUES ('Dairy Milk', 1.49);
-INSERT INTO product (name, price) VALUES ('Eggs', 2.99); 
\ No newline at end of file
+INSERT INTO product (id, name, price, version) VALUES (NEXT VALUE FOR product_seq, 'Apple', 0.99, 0);
+INSERT INTO product (id, name, price, version) VALUES (NEXT VALUE FOR product_seq, 'Banana', 0.59, 0);
+INSERT INTO product (id, name, price, version) VALUES (NEXT VALUE FOR product_seq, 'Carrot', 0.39, 0);
+INSERT INTO product (id, name, price, version) VALUES (NEXT VALUE FOR product_seq, 'Dairy Milk', 1.49, 0);
+INSERT INTO product (id, name, price, version) VALUES (NEXT VALUE FOR product_seq, 'Eggs', 2.99, 0); 
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.example.product;
+
+import com.example.product.model.Product;
+import com.example.product.repository.ProductRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ProductBatchLookupTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testPostAndGetReturnFoundProductsInOrderAndReportMissingIds() throws Exception {
+        // Arrange
+        Long first = save("Milk", 1.2);
+        Long second = save("Eggs", 2.5);
+        Long missing = second + 1000;
+        String body = objectMapper.writeValueAsString(List.of(second, missing, first, second));
+
+        // Act
+        JsonNode posted = objectMapper.readTree(mockMvc.perform(post("/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        JsonNode fetched = objectMapper.readTree(mockMvc.perform(get("/products")
+                        .param("ids", second + "," + missing + "," + first))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        // Assert
+        for (JsonNode result : List.of(posted, fetched)) {
+            assertEquals(List.of(second, first), ids(result.get("products")));
+            assertEquals(List.of(missing), ids(result.get("missingIds")));
+            assertEquals("Eggs", result.get("products").get(0).get("name").asText());
+        }
+    }
+
+    @Test
+    void testLargeListIsServedAcrossChunks() throws Exception {
+        // Arrange
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 1100; i++) {
+            Product product = new Product();
+            product.setName("Bulk " + i);
+            product.setPrice(1.0);
+            products.add(product);
+        }
+        List<Long> ids = productRepository.saveAll(products).stream().map(Product::getId).collect(Collectors.toList());
+
+        // Act
+        JsonNode result = objectMapper.readTree(mockMvc.perform(post("/products:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        // Assert
+        assertEquals(ids, ids(result.get("products")));
+        assertEquals(0, result.get("missingIds").size());
+    }
+
+    @Test
+    void testNullIdIsRejected() throws Exception {
+        // Act / Assert
+        mockMvc.perform(post("/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, null]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long save(String name, double price) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(price);
+        return productRepository.save(product).getId();
+    }
+
+    private static List<Long> ids(JsonNode array) {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode node : array) {
+            ids.add(node.isObject() ? node.get("id").asLong() : node.asLong());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.product;
+
+import com.example.product.config.ProductCacheConfig;
+import com.example.product.model.Product;
+import com.example.product.repository.ProductRepository;
+import com.example.product.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class ProductCacheTest {
+
+    @SpyBean
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        clearInvocations(productRepository);
+    }
+
+    @Test
+    void testProductByIdIsServedFromCache() {
+        // Arrange
+        Long id = productService.saveProduct(product("Cached Apple", 1.0)).getId();
+        cacheManager.getCache(ProductCacheConfig.PRODUCTS).clear();
+        double hitsBefore = cacheGets("hit");
+        // Act
+        productService.getProductById(id);
+        productService.getProductById(id);
+        // Assert
+        verify(productRepository, times(1)).findById(id);
+        assertEquals(hitsBefore + 1, cacheGets("hit"));
+    }
+
+    @Test
+    void testSaveRefreshesTheCachedProduct() {
+        // Act
+        Product saved = productService.saveProduct(product("Fresh Bread", 2.5));
+        // Assert
+        assertEquals("Fresh Bread", productService.getProductById(saved.getId()).getName());
+        verify(productRepository, never()).findById(saved.getId());
+    }
+
+    @Test
+    void testUpdateBumpsVersionAndRefreshesCache() {
+        // Arrange
+        Product saved = productService.saveProduct(product("Plain Yogurt", 1.2));
+        Long version = productService.getProductById(saved.getId()).getVersion();
+        // Act
+        Product updated = productService.updateProduct(saved.getId(), product("Greek Yogurt", 1.8), version);
+        // Assert
+        assertEquals(version + 1, updated.getVersion());
+        Product cached = productService.getProductById(saved.getId());
+        assertEquals("Greek Yogurt", cached.getName());
+        assertEquals(version + 1, cached.getVersion());
+    }
+
+    @Test
+    void testUpdateWithStaleVersionIsRejected() {
+        // Arrange
+        Product saved = productService.saveProduct(product("Skyr", 2.2));
+        Long version = productService.getProductById(saved.getId()).getVersion();
+        productService.updateProduct(saved.getId(), product("Skyr Vanilla", 2.4), version);
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> productService.updateProduct(saved.getId(), product("Skyr Plain", 2.0), version));
+        assertEquals("Skyr Vanilla", productService.getProductById(saved.getId()).getName());
+    }
+
+    @Test
+    void testUpdateUnknownProductFails() {
+        assertThrows(RuntimeException.class, () -> productService.updateProduct(999_999L, product("Ghost", 1.0), null));
+    }
+
+    @Test
+    void testDeleteEvictsProduct() {
+        // Arrange
+        Long id = productService.saveProduct(product("Old Cheese", 4.0)).getId();
+        productService.getProductById(id);
+        // Act
+        productService.deleteProduct(id);
+        // Assert
+        assertThrows(RuntimeException.class, () -> productService.getProductById(id));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", ProductCacheConfig.PRODUCTS).tag("result", result)
+                .functionCounter().count();
+    }
+
+    private static Product product(String name, double price) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(price);
+        return product;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.product;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+// Own database, since these tests add and change products other tests count.
+@SpringBootTest(properties = {"product.import.batch-size=2", "product.import.max-errors=3",
+        "spring.datasource.url=jdbc:h2:mem:product-import-db"})
+@AutoConfigureMockMvc
+@WithMockUser
+class ProductImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testCsvImportUpsertsValidRowsAndReportsTheRest() throws Exception {
+        // Arrange
+        Long appleId = jdbcTemplate.queryForObject("select id from product where name = 'Apple'", Long.class);
+        mockMvc.perform(get("/products/" + appleId)).andExpect(status().isOk());
+        String csv = """
+                id,name,price
+                ,Import Kiwi,1.25
+                ,"Import Melon, large",3.5
+                %d,Apple,1.09
+
+                ,,2.0
+                999999,Ghost,1.0
+                ,Import Plum,abc
+                """.formatted(appleId);
+
+        // Act
+        List<JsonNode> lines = importBody("text/csv", csv);
+
+        // Assert
+        JsonNode result = lines.get(lines.size() - 1);
+        assertEquals("completed", result.get("status").asText());
+        assertEquals(6, result.get("processed").asLong());
+        assertEquals(2, result.get("inserted").asLong());
+        assertEquals(1, result.get("updated").asLong());
+        assertEquals(3, result.get("failed").asLong());
+        Set<Long> errorLines = lines.stream().filter(line -> line.has("error"))
+                .map(line -> line.get("line").asLong()).collect(Collectors.toSet());
+        assertEquals(Set.of(6L, 7L, 8L), errorLines);
+        assertTrue(lines.stream().anyMatch(line -> "running".equals(line.path("status").asText())));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from product where name = 'Import Melon, large'", Integer.class));
+        JsonNode apple = objectMapper.readTree(mockMvc.perform(get("/products/" + appleId))
+                .andReturn().getResponse().getContentAsString());
+        assertEquals(1.09, apple.get("price").asDouble());
+    }
+
+    @Test
+    void testNdjsonImportAbortsPastTheErrorLimit() throws Exception {
+        // Arrange
+        String ndjson = """
+                {"name":"Import Fig","price":2.5}
+                {"name":"","price":1.0}
+                {"name":"Import Date","price":-1}
+                not json
+                {"name":"Import Lime","price":"cheap"}
+                {"name":"Import Pear","price":0.8}
+                """;
+
+        // Act
+        List<JsonNode> lines = importBody(MediaType.APPLICATION_NDJSON_VALUE, ndjson);
+
+        // Assert
+        JsonNode result = lines.get(lines.size() - 1);
+        assertEquals("aborted", result.get("status").asText());
+        assertEquals(5, result.get("processed").asLong());
+        assertEquals(1, result.get("inserted").asLong());
+        assertEquals(4, result.get("failed").asLong());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from product where name = 'Import Pear'", Integer.class));
+    }
+
+    @Test
+    void testCsvWithoutRequiredColumnsIsRejected() throws Exception {
+        // Act / Assert
+        mockMvc.perform(post("/products/import").contentType("text/csv").content("id,title\n1,Apple\n"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/products/import").contentType("text/csv").content(""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCsvExportListsEveryProduct() throws Exception {
+        // Arrange
+        long catalogSize = jdbcTemplate.queryForObject("select count(*) from product", Long.class);
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/products/export").param("format", "csv")).andReturn();
+        MvcResult exported = mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk()).andReturn();
+
+        // Assert
+        String[] lines = exported.getResponse().getContentAsString().split("\n");
+        assertEquals("id,name,price", lines[0]);
+        assertEquals(catalogSize, lines.length - 1);
+        assertTrue(exported.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION).startsWith("attachment"));
+    }
+
+    @Test
+    void testNdjsonExportCanBeImportedBack() throws Exception {
+        // Arrange
+        MvcResult result = mockMvc.perform(get("/products/export")).andReturn();
+        String exported = mockMvc.perform(asyncDispatch(result)).andReturn().getResponse().getContentAsString();
+        long catalogSize = jdbcTemplate.queryForObject("select count(*) from product", Long.class);
+
+        // Act
+        List<JsonNode> lines = importBody(MediaType.APPLICATION_NDJSON_VALUE, exported);
+
+        // Assert
+        JsonNode summary = lines.get(lines.size() - 1);
+        assertEquals(catalogSize, summary.get("updated").asLong());
+        assertEquals(0, summary.get("failed").asLong());
+        assertEquals(catalogSize, jdbcTemplate.queryForObject("select count(*) from product", Long.class));
+    }
+
+    private List<JsonNode> importBody(String contentType, String body) throws Exception {
+        String response = mockMvc.perform(post("/products/import").contentType(contentType).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : response.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.product;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ProductPagingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testKeysetPagesCoverTheCatalogOnce() throws Exception {
+        // Arrange
+        int catalogSize = objectMapper.readTree(mockMvc.perform(get("/products"))
+                .andReturn().getResponse().getContentAsString()).size();
+        List<Long> ids = new ArrayList<>();
+        String cursor = "0";
+        // Act
+        while (cursor != null) {
+            MvcResult page = mockMvc.perform(get("/products").param("after", cursor).param("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            for (JsonNode product : objectMapper.readTree(page.getResponse().getContentAsString())) {
+                ids.add(product.get("id").asLong());
+            }
+            cursor = page.getResponse().getHeader("X-Next-Cursor");
+        }
+        // Assert
+        assertEquals(catalogSize, ids.size());
+        assertEquals(ids.stream().sorted().distinct().toList(), ids);
+    }
+
+    @Test
+    void testNdjsonStreamsEveryProduct() throws Exception {
+        // Arrange
+        int catalogSize = objectMapper.readTree(mockMvc.perform(get("/products"))
+                .andReturn().getResponse().getContentAsString()).size();
+        // Act
+        MvcResult result = mockMvc.perform(get("/products").accept(MediaType.APPLICATION_NDJSON)).andReturn();
+        String body = mockMvc.perform(asyncDispatch(result)).andReturn().getResponse().getContentAsString();
+        // Assert
+        String[] lines = body.split("\n");
+        assertEquals(catalogSize, lines.length);
+        assertTrue(objectMapper.readTree(lines[0]).has("name"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.product;
+
+import com.example.product.dto.ProductDTO;
+import com.example.product.service.ProductPriceIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+class ProductPriceIndexTest {
+
+    private ProductPriceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductPriceIndex();
+        index.rebuild(List.of(
+                new ProductDTO(1L, "Apple", 0.99),
+                new ProductDTO(2L, "Banana", 0.59),
+                new ProductDTO(3L, "Carrot", 0.39),
+                new ProductDTO(4L, "Dairy Milk", 1.49),
+                new ProductDTO(5L, "Eggs", 2.99),
+                new ProductDTO(6L, "Bagel", 0.99))::stream);
+    }
+
+    @Test
+    void testRangeIsInclusiveAndOrderedByPriceThenId() {
+        // Act
+        List<ProductDTO> ascending = index.range(0.59, 1.49, false, 0, 10);
+        List<ProductDTO> descending = index.range(0.59, 1.49, true, 0, 10);
+
+        // Assert
+        assertEquals(List.of(2L, 1L, 6L, 4L), ids(ascending));
+        assertEquals(List.of(4L, 6L, 1L, 2L), ids(descending));
+        assertEquals("Bagel", ascending.get(2).getName());
+        assertEquals(4, index.count(0.59, 1.49));
+        assertEquals(0, index.count(3.0, 9.0));
+    }
+
+    @Test
+    void testOffsetAndLimitGiveTopK() {
+        // Act
+        List<ProductDTO> twoMostExpensive = index.range(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, true, 0, 2);
+        List<ProductDTO> thirdAndFourthCheapest = index.range(0, 100, false, 2, 2);
+        List<ProductDTO> pastTheEnd = index.range(0, 100, false, 6, 2);
+
+        // Assert
+        assertEquals(List.of(5L, 4L), ids(twoMostExpensive));
+        assertEquals(List.of(1L, 6L), ids(thirdAndFourthCheapest));
+        assertEquals(List.of(), pastTheEnd);
+    }
+
+    @Test
+    void testWritesMoveAndDropProducts() {
+        // Act
+        index.putAll(List.of(new ProductDTO(3L, "Carrot", 3.49), new ProductDTO(7L, "Fig", 0.10),
+                new ProductDTO(3L, "Carrots", 3.59)));
+        index.put(new ProductDTO(5L, "Eggs", 0.89));
+        index.remove(2L);
+
+        // Assert
+        assertEquals(List.of(7L, 5L, 1L, 6L, 4L, 3L), ids(index.range(0, 100, false, 0, 10)));
+        assertEquals("Carrots", index.range(3.5, 4.0, false, 0, 1).get(0).getName());
+        assertEquals(6, index.size());
+    }
+
+    @Test
+    void testQueriesStayCorrectAcrossManySmallWrites() {
+        // Act
+        for (long id = 100; id < 5100; id++) {
+            index.put(new ProductDTO(id, "Bulk " + id, 10 + id % 7));
+        }
+        index.put(new ProductDTO(1L, "Apple", 12.5));
+        index.remove(4L);
+
+        // Assert
+        assertEquals(5005, index.size());
+        assertEquals(5001, index.count(10, 16));
+        assertEquals(List.of(5L, 6L, 2L, 3L), ids(index.range(0, 9, true, 0, 10)));
+        List<ProductDTO> twelves = index.range(12, 12.5, false, 0, 10_000);
+        assertEquals(716, twelves.size());
+        assertEquals(1L, twelves.get(twelves.size() - 1).getId());
+        assertEquals(List.of(5095L), ids(index.range(16, 16, true, 0, 1)));
+    }
+
+    @Test
+    void testWritesDuringARebuildAreNotLost() {
+        // Arrange
+        ProductPriceIndex fresh = new ProductPriceIndex();
+        List<ProductDTO> rows = List.of(new ProductDTO(1L, "Apple", 0.99), new ProductDTO(2L, "Banana", 0.59),
+                new ProductDTO(4L, "Dairy Milk", 1.49));
+        assertFalse(fresh.isReady());
+
+        // Act
+        fresh.rebuild(() -> {
+            // Committed while the query is being opened, after its rows were fixed
+            fresh.put(new ProductDTO(4L, "Dairy Milk", 1.69));
+            return rows.stream().peek(row -> {
+                if (row.getId() == 2L) {
+                    // Committed after the rebuild's read saw the old rows
+                    fresh.put(new ProductDTO(1L, "Apple", 1.29));
+                    fresh.put(new ProductDTO(3L, "Carrot", 0.39));
+                    fresh.remove(2L);
+                }
+            });
+        });
+
+        // Assert
+        assertTrue(fresh.isReady());
+        assertEquals(List.of(3L, 1L, 4L), ids(fresh.range(0, 100, false, 0, 10)));
+        assertEquals(1.29, fresh.range(1, 1.5, false, 0, 1).get(0).getPrice());
+        assertEquals(1.69, fresh.range(1.5, 2, false, 0, 1).get(0).getPrice());
+    }
+
+    @Test
+    void testManyRemovalsFoldIntoANewBase() {
+        // Arrange
+        ProductPriceIndex large = new ProductPriceIndex();
+        // Several times the delta limit, so the removed positions are folded more than once
+        int size = 12_288;
+        large.rebuild(() -> LongStream.rangeClosed(1, size)
+                .mapToObj(id -> new ProductDTO(id, "Product " + id, id / 100.0)));
+
+        // Act
+        for (long id = 2; id <= size; id += 2) {
+            large.remove(id);
+        }
+
+        // Assert
+        assertEquals(size / 2, large.size());
+        assertEquals(size / 2, large.count(0, Double.MAX_VALUE));
+        assertEquals(List.of(1L, 3L, 5L), ids(large.range(0, Double.MAX_VALUE, false, 0, 3)));
+        assertEquals(List.of((long) size - 1), ids(large.range(0, Double.MAX_VALUE, true, 0, 1)));
+    }
+
+    private static List<Long> ids(List<ProductDTO> products) {
+        return products.stream().map(ProductDTO::getId).toList();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.product;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+// Shares ProductSearchTest's database; the prices used here are unique to this class.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:product-search-db")
+@AutoConfigureMockMvc
+@WithMockUser
+class ProductPriceQueryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testPriceQueriesSeeTheSeededCatalog() throws Exception {
+        // Act
+        MvcResult cheapest = mockMvc.perform(get("/products").param("maxPrice", "0.6").param("sort", "price"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Assert
+        JsonNode products = objectMapper.readTree(cheapest.getResponse().getContentAsString());
+        assertEquals("Carrot", products.get(0).get("name").asText());
+        assertEquals("Banana", products.get(1).get("name").asText());
+        assertEquals(String.valueOf(products.size()), cheapest.getResponse().getHeader("X-Total-Count"));
+    }
+
+    @Test
+    void testPriceQueriesFollowCreateUpdateAndDelete() throws Exception {
+        // Arrange
+        long id = objectMapper.readTree(mockMvc.perform(post("/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Saffron\",\"price\":901.5}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get("id").asLong();
+        assertEquals(1, inRange("901", "902").size());
+
+        // Act
+        mockMvc.perform(put("/products/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Saffron\",\"price\":903.5}"))
+                .andExpect(status().isOk());
+        JsonNode oldPrice = inRange("901", "902");
+        JsonNode newPrice = inRange("903", "904");
+        mockMvc.perform(delete("/products/" + id)).andExpect(status().isOk());
+
+        // Assert
+        assertEquals(0, oldPrice.size());
+        assertEquals(id, newPrice.get(0).get("id").asLong());
+        assertEquals(0, inRange("903", "904").size());
+    }
+
+    private JsonNode inRange(String minPrice, String maxPrice) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/products")
+                        .param("minPrice", minPrice).param("maxPrice", maxPrice))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+}
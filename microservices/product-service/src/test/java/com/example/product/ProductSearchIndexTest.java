@@ -0,0 +1,101 @@
+package com.example.product;
+
+import com.example.product.dto.ProductDTO;
+import com.example.product.service.ProductSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.rebuild(List.of(
+                new ProductDTO(1L, "Dairy Milk Chocolate", 1.49),
+                new ProductDTO(2L, "Dark Chocolate 70%", 2.29),
+                new ProductDTO(3L, "Crème Fraîche", 1.89),
+                new ProductDTO(4L, "Oat Milk", 1.99))::stream);
+    }
+
+    @Test
+    void testEveryQueryWordMustPrefixANameWord() {
+        // Act
+        List<ProductDTO> chocolate = index.search("choc", 10);
+        List<ProductDTO> milkChocolate = index.search("MIL choc", 10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), ids(chocolate));
+        assertEquals(List.of(1L), ids(milkChocolate));
+        assertEquals(1.49, milkChocolate.get(0).getPrice());
+        assertEquals(List.of(), index.search("hoc", 10));
+        assertEquals(List.of(), index.search("  ", 10));
+    }
+
+    @Test
+    void testAccentsAndPunctuationAreIgnored() {
+        // Act / Assert
+        assertEquals(List.of(3L), ids(index.search("creme fra", 10)));
+        assertEquals(List.of(2L), ids(index.search("70", 10)));
+    }
+
+    @Test
+    void testResultsAreCappedInIdOrder() {
+        // Act
+        List<ProductDTO> results = index.search("m", 1);
+
+        // Assert
+        assertEquals(List.of(1L), ids(results));
+    }
+
+    @Test
+    void testPutReplacesTheIndexedNameAndRemoveDropsTheProduct() {
+        // Act
+        index.put(new ProductDTO(4L, "Oat Drink", 1.79));
+        index.put(new ProductDTO(5L, "Almond Milk", 2.49));
+        index.remove(1L);
+
+        // Assert
+        assertEquals(List.of(5L), ids(index.search("milk", 10)));
+        assertEquals(List.of(4L), ids(index.search("oat dr", 10)));
+        assertEquals(1.79, index.search("oat", 10).get(0).getPrice());
+        assertEquals(List.of(2L), ids(index.search("chocolate", 10)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testWritesDuringARebuildAreNotLost() {
+        // Arrange
+        ProductSearchIndex fresh = new ProductSearchIndex();
+        List<ProductDTO> rows = List.of(new ProductDTO(1L, "Oat Milk", 1.99), new ProductDTO(2L, "Dark Chocolate", 2.29));
+
+        // Act
+        fresh.rebuild(() -> {
+            // Committed while the query is being opened, after its rows were fixed
+            fresh.put(new ProductDTO(1L, "Oat Drink", 1.79));
+            return rows.stream().peek(row -> {
+                if (row.getId() == 2L) {
+                    fresh.put(new ProductDTO(3L, "Almond Milk", 2.49));
+                    fresh.remove(2L);
+                }
+            });
+        });
+
+        // Assert
+        assertEquals(List.of(3L), ids(fresh.search("milk", 10)));
+        assertEquals(List.of(1L), ids(fresh.search("oat dr", 10)));
+        assertEquals(List.of(), fresh.search("chocolate", 10));
+        assertEquals(2, fresh.size());
+    }
+
+    private static List<Long> ids(List<ProductDTO> products) {
+        return products.stream().map(ProductDTO::getId).toList();
+    }
+}
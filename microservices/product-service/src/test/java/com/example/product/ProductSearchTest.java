@@ -0,0 +1,86 @@
+package com.example.product;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+// Own database, since these tests add, rename and delete products other tests count.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:product-search-db")
+@AutoConfigureMockMvc
+@WithMockUser
+class ProductSearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testIndexIsBuiltAtStartup() throws Exception {
+        // Act
+        JsonNode results = search("dairy mi");
+
+        // Assert
+        assertEquals(1, results.size());
+        assertEquals("Dairy Milk", results.get(0).get("name").asText());
+    }
+
+    @Test
+    void testSearchFollowsCreateUpdateAndDelete() throws Exception {
+        // Arrange
+        JsonNode created = objectMapper.readTree(mockMvc.perform(post("/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Sourdough Loaf\",\"price\":3.2}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        long id = created.get("id").asLong();
+        assertEquals(id, search("sourd").get(0).get("id").asLong());
+
+        // Act
+        mockMvc.perform(put("/products/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Rye Loaf\",\"price\":3.4}"))
+                .andExpect(status().isOk());
+        JsonNode afterUpdate = search("loaf");
+        JsonNode oldName = search("sourdough");
+        mockMvc.perform(delete("/products/" + id)).andExpect(status().isOk());
+
+        // Assert
+        assertEquals("Rye Loaf", afterUpdate.get(0).get("name").asText());
+        assertEquals(3.4, afterUpdate.get(0).get("price").asDouble());
+        assertEquals(0, oldName.size());
+        assertEquals(0, search("rye").size());
+    }
+
+    @Test
+    void testImportedProductsAreSearchable() throws Exception {
+        // Act
+        mockMvc.perform(post("/products/import").contentType("text/csv").content("name,price\nBlood Orange,0.75\n"))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertEquals("Blood Orange", search("blood or").get(0).get("name").asText());
+    }
+
+    private JsonNode search(String query) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/products/search").param("q", query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+}
@@ -1,19 +1,24 @@
 package com.example.product;
 
+import com.example.product.dto.ProductDTO;
 import com.example.product.model.Product;
 import com.example.product.repository.ProductRepository;
+import com.example.product.service.ProductPriceIndex;
+import com.example.product.service.ProductSearchIndex;
 import com.example.product.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -25,6 +30,12 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductSearchIndex searchIndex;
+
+    @Mock
+    private ProductPriceIndex priceIndex;
+
     @InjectMocks
     private ProductService productService;
 
@@ -43,25 +54,77 @@ class ProductServiceTest {
     void testGetAllProducts() {
         // Arrange
         List<Product> products = Arrays.asList(testProduct);
-        when(productRepository.findAll()).thenReturn(products);
+        when(productRepository.findPageAfter(0L, Limit.of(100))).thenReturn(products);
         // Act
-        List<Product> result = productService.getAllProducts();
+        List<Product> result = productService.getProductsAfter(0L, 100);
         // Assert
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         assertEquals("Test Product", result.get(0).getName());
-        verify(productRepository, times(1)).findAll();
+        verify(productRepository, never()).findAll();
+    }
+
+    @Test
+    void testPriceQueriesReadTheDatabaseUntilTheIndexIsLoaded() {
+        // Arrange
+        when(priceIndex.isReady()).thenReturn(false);
+        when(productRepository.findByPriceDescending(eq(0.0), eq(10.0), any()))
+                .thenReturn(List.of(new ProductDTO(5L, "Eggs", 2.99), new ProductDTO(4L, "Dairy Milk", 1.49)));
+        when(productRepository.countByPriceBetween(0.0, 10.0)).thenReturn(2L);
+
+        // Act
+        List<ProductDTO> page = productService.getProductsByPrice(0.0, 10.0, true, 1, 1);
+
+        // Assert
+        assertEquals(List.of(4L), page.stream().map(ProductDTO::getId).toList());
+        assertEquals(2, productService.countProductsByPrice(0.0, 10.0));
+        verify(productRepository).findByPriceDescending(0.0, 10.0, Limit.of(2));
+        verify(priceIndex, never()).range(anyDouble(), anyDouble(), anyBoolean(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testGetProductsByIdsUsesOneQueryAndKeepsRequestOrder() {
+        // Arrange
+        Product other = new Product();
+        other.setId(2L);
+        when(productRepository.findAllById(any())).thenReturn(List.of(testProduct, other));
+        // Act
+        List<Product> result = productService.getProductsByIds(List.of(2L, 9L, 1L, 2L));
+        // Assert
+        assertEquals(List.of(2L, 1L), result.stream().map(Product::getId).toList());
+        verify(productRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void testGetProductsByIdsChunksLongLists() {
+        // Arrange
+        List<Long> ids = LongStream.rangeClosed(1, 1200).boxed().toList();
+        when(productRepository.findAllById(any())).thenReturn(List.of(testProduct));
+        // Act
+        List<Product> result = productService.getProductsByIds(ids);
+        // Assert
+        assertEquals(1, result.size());
+        verify(productRepository, times(3)).findAllById(any());
+    }
+
+    @Test
+    void testGetProductsByIdsRejectsOversizedBatch() {
+        // Arrange
+        List<Long> ids = LongStream.rangeClosed(1, ProductService.MAX_BATCH_SIZE + 1).boxed().toList();
+        // Act / Assert
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsByIds(ids));
+        verifyNoInteractions(productRepository);
     }
 
     @Test
     void testGetAllProductsWhenEmpty() {
         // Arrange
-        when(productRepository.findAll()).thenReturn(Collections.emptyList());
+        when(productRepository.findPageAfter(0L, Limit.of(100))).thenReturn(Collections.emptyList());
         // Act
-        List<Product> result = productService.getAllProducts();
+        List<Product> result = productService.getProductsAfter(0L, 100);
         // Assert
         assertTrue(result.isEmpty());
-        verify(productRepository, times(1)).findAll();
+        verify(productRepository, times(1)).findPageAfter(0L, Limit.of(100));
     }
 
     @Test
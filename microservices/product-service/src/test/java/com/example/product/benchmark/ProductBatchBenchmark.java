@@ -0,0 +1,101 @@
+package com.example.product.benchmark;
+
+import com.example.product.ProductServiceApplication;
+import com.example.product.model.Product;
+import com.example.product.repository.ProductRepository;
+import com.example.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Fetches the same {@code n} products over loopback HTTP either as {@code n} single
+ * {@code GET /products/{id}} requests or as one {@code POST /products/batch}. The single reads are
+ * served from the product cache, so the gap is per-request overhead that a real network only widens.
+ * Run from the module directory with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main ProductBatchBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductBatchBenchmark {
+    @Param({"10", "30", "100"})
+    private int n;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String authorization;
+    private List<Long> ids;
+    private String batchBody;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ProductServiceApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        authorization = "Bearer " + context.getBean(JwtUtil.class).generateToken("benchmark");
+        client = HttpClient.newHttpClient();
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setPrice(1.0 + i);
+            products.add(product);
+        }
+        ids = context.getBean(ProductRepository.class).saveAll(products).stream()
+                .map(Product::getId)
+                .collect(Collectors.toList());
+        batchBody = ids.stream().map(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int singleGets() throws IOException, InterruptedException {
+        int bytes = 0;
+        for (Long id : ids) {
+            bytes += send(HttpRequest.newBuilder(URI.create(baseUrl + "/products/" + id)).GET());
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public int batchPost() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/products/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(batchBody)));
+    }
+
+    private int send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request.header("Authorization", authorization).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.product.benchmark;
+
+import com.example.product.ProductServiceApplication;
+import com.example.product.dto.ProductImportErrorDTO;
+import com.example.product.dto.ProductImportProgressDTO;
+import com.example.product.service.ProductImportService;
+import com.example.product.service.ProductRowReader;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second through {@link ProductImportService} for a CSV of {@value #ROWS_PER_CALL} new
+ * products, with one row per batch and transaction ({@code batchSize=1}) against the default 1000.
+ * Run from the module directory with the following, adding {@code -p profiles=test,postgres} to
+ * target a local Postgres:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main ProductImportBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(ProductImportBenchmark.ROWS_PER_CALL)
+public class ProductImportBenchmark {
+    static final int ROWS_PER_CALL = 5_000;
+
+    private static final ProductImportService.Listener IGNORE = new ProductImportService.Listener() {
+        @Override
+        public void onError(ProductImportErrorDTO error) {
+        }
+
+        @Override
+        public void onProgress(ProductImportProgressDTO progress) {
+        }
+    };
+
+    @Param({"1", "1000"})
+    private int batchSize;
+
+    @Param("test")
+    private String profiles;
+
+    private ConfigurableApplicationContext context;
+    private ProductImportService productImportService;
+    private String csv;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ProductServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profiles.split(","))
+                .properties("product.import.batch-size=" + batchSize, "logging.level.root=WARN")
+                .run();
+        productImportService = context.getBean(ProductImportService.class);
+        StringBuilder body = new StringBuilder("name,price\n");
+        for (int i = 0; i < ROWS_PER_CALL; i++) {
+            body.append("Product ").append(i).append(',').append(1.0 + i % 100).append('\n');
+        }
+        csv = body.toString();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductImportProgressDTO importCsv() throws IOException {
+        ProductRowReader rows = ProductRowReader.csv(new BufferedReader(new StringReader(csv)));
+        return productImportService.importProducts(rows, IGNORE);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.product.benchmark;
+
+import com.example.product.ProductServiceApplication;
+import com.example.product.model.Product;
+import com.example.product.repository.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Products per second stored with one {@code saveAll} of {@value #PRODUCTS_PER_CALL} products per
+ * transaction, with JDBC batching off ({@code batchSize=1}) and on, and with ids fetched one per
+ * row ({@code allocationSize=1}) or in pooled blocks. Run from the module directory with the
+ * following, adding {@code -p profiles=test,postgres} to target a local Postgres:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main ProductIngestionBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(ProductIngestionBenchmark.PRODUCTS_PER_CALL)
+public class ProductIngestionBenchmark {
+    static final int PRODUCTS_PER_CALL = 500;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    @Param({"1", "50"})
+    private int allocationSize;
+
+    @Param("test")
+    private String profiles;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ProductServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profiles.split(","))
+                .properties("spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "grocery.id.allocation-size=" + allocationSize,
+                        "logging.level.root=WARN")
+                .run();
+        productRepository = context.getBean(ProductRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Product> saveProducts() {
+        List<Product> products = new ArrayList<>(PRODUCTS_PER_CALL);
+        for (int i = 0; i < PRODUCTS_PER_CALL; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setPrice(1.0 + i % 100);
+            products.add(product);
+        }
+        return transactionTemplate.execute(status -> productRepository.saveAll(products));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.product.benchmark;
+
+import com.example.product.dto.ProductDTO;
+import com.example.product.mapper.ProductMapper;
+import com.example.product.mapper.ProductMapperImpl;
+import com.example.product.model.Product;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflective {@code BeanUtils.copyProperties} conversion the controller used to do with
+ * the generated {@link ProductMapper}, in both directions. Run from the module directory with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main ProductMappingBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMappingBenchmark {
+    private final ProductMapper mapper = new ProductMapperImpl();
+    private Product entity;
+    private ProductDTO dto;
+
+    @Setup
+    public void setUp() {
+        entity = new Product();
+        entity.setId(1L);
+        entity.setName("Apple");
+        entity.setPrice(0.5);
+        entity.setVersion(3L);
+        dto = new ProductDTO(1L, "Apple", 0.5);
+    }
+
+    @Benchmark
+    public ProductDTO beanUtilsToDto() {
+        ProductDTO result = new ProductDTO();
+        BeanUtils.copyProperties(entity, result);
+        return result;
+    }
+
+    @Benchmark
+    public ProductDTO mapperToDto() {
+        return mapper.toDto(entity);
+    }
+
+    @Benchmark
+    public Product beanUtilsToEntity() {
+        Product result = new Product();
+        BeanUtils.copyProperties(dto, result);
+        return result;
+    }
+
+    @Benchmark
+    public Product mapperToEntity() {
+        return mapper.toEntity(dto);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.product.benchmark;
+
+import com.example.product.dto.ProductDTO;
+import com.example.product.service.ProductPriceIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProductPriceIndex} against filtering and sorting the boxed catalog, which is what a price
+ * query costs without it, over {@code catalogSize} products: a page of a narrow price range, the
+ * twenty most expensive products, and the cost of one price change. Add {@code -prof gc} to compare
+ * allocation per query. Run from the module directory with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main ProductPriceIndexBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ProductPriceIndexBenchmark {
+    private static final Comparator<ProductDTO> BY_PRICE = Comparator.comparingDouble(ProductDTO::getPrice);
+
+    @Param({"1000000"})
+    private int catalogSize;
+
+    private List<ProductDTO> catalog;
+    private ProductPriceIndex index;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+        catalog = new ArrayList<>(catalogSize);
+        for (long id = 1; id <= catalogSize; id++) {
+            catalog.add(new ProductDTO(id, "Product " + id, 0.5 + random.nextInt(100_000) / 100.0));
+        }
+        index = new ProductPriceIndex();
+        index.rebuild(catalog::stream);
+    }
+
+    @Benchmark
+    public List<ProductDTO> indexRangePage() {
+        return index.range(10.0, 12.0, false, 0, 50);
+    }
+
+    @Benchmark
+    public List<ProductDTO> indexTopTwenty() {
+        return index.range(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, true, 0, 20);
+    }
+
+    @Benchmark
+    public List<ProductDTO> boxedRangePage() {
+        return catalog.stream()
+                .filter(product -> product.getPrice() >= 10.0 && product.getPrice() <= 12.0)
+                .sorted(BY_PRICE)
+                .limit(50)
+                .toList();
+    }
+
+    @Benchmark
+    public List<ProductDTO> boxedTopTwenty() {
+        return catalog.stream().sorted(BY_PRICE.reversed()).limit(20).toList();
+    }
+
+    @Benchmark
+    public int indexPriceChange() {
+        long id = 1 + random.nextInt(catalogSize);
+        index.put(new ProductDTO(id, "Product " + id, 0.5 + random.nextInt(100_000) / 100.0));
+        return index.size();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.product.benchmark;
+
+import com.example.product.dto.ProductDTO;
+import com.example.product.service.ProductSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProductSearchIndex} over a synthetic catalog of {@code catalogSize} names built from a
+ * brand, one or two descriptors, a product word and a pack size: the time to build the index, and
+ * the latency distribution (see the p0.99 line) of typeahead queries ranging from one-letter
+ * prefixes to rare multi-word ones. Run from the module directory with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main ProductSearchBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ProductSearchBenchmark {
+    private static final String[] BRANDS = {"Acme", "Bellwood", "Cedar", "Dunmore", "Evergreen", "Fairfield",
+            "Greenleaf", "Harvest", "Ironbridge", "Juniper", "Kingsley", "Lakeside", "Meadow", "Northfield",
+            "Orchard", "Pinecrest", "Quarry", "Riverside", "Stonegate", "Thornbury"};
+    private static final String[] DESCRIPTORS = {"Organic", "Dark", "Whole", "Smoked", "Fresh", "Frozen",
+            "Unsalted", "Wholegrain", "Free Range", "Crème", "Sparkling", "Mature", "Mild", "Spicy", "Sweet",
+            "Low Fat", "Gluten Free", "Roasted", "Salted", "Vanilla"};
+    private static final String[] ITEMS = {"Milk", "Chocolate", "Bread", "Butter", "Cheddar", "Salmon", "Eggs",
+            "Yoghurt", "Coffee", "Tea", "Pasta", "Rice", "Granola", "Almonds", "Cashews", "Honey", "Jam", "Olives",
+            "Tomatoes", "Spinach", "Apples", "Bananas", "Water", "Lemonade", "Crisps", "Biscuits", "Muesli",
+            "Peppers", "Mushrooms", "Sausages"};
+    private static final String[] SIZES = {"100g", "250g", "500g", "1kg", "330ml", "1l", "6 pack", "12 pack"};
+    private static final String[] QUERIES = {"c", "choc", "dark choc", "organic milk 1l", "free range eggs",
+            "juniper smok salm", "crem", "ironbridge gluten free pasta 500g", "zzz"};
+
+    @Param({"1000000"})
+    private int catalogSize;
+
+    private List<ProductDTO> catalog;
+    private ProductSearchIndex index;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        catalog = new ArrayList<>(catalogSize);
+        for (long id = 1; id <= catalogSize; id++) {
+            StringBuilder name = new StringBuilder(BRANDS[random.nextInt(BRANDS.length)]);
+            int descriptors = 1 + random.nextInt(2);
+            for (int i = 0; i < descriptors; i++) {
+                name.append(' ').append(DESCRIPTORS[random.nextInt(DESCRIPTORS.length)]);
+            }
+            name.append(' ').append(ITEMS[random.nextInt(ITEMS.length)])
+                    .append(' ').append(SIZES[random.nextInt(SIZES.length)]);
+            catalog.add(new ProductDTO(id, name.toString(), 0.5 + random.nextInt(2000) / 100.0));
+        }
+        index = new ProductSearchIndex();
+        index.rebuild(catalog::stream);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public ProductSearchIndex build() {
+        ProductSearchIndex built = new ProductSearchIndex();
+        built.rebuild(catalog::stream);
+        return built;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<ProductDTO> search() {
+        String query = QUERIES[next++ % QUERIES.length];
+        return index.search(query, 20);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.product.controller;
+
+import com.example.product.mapper.ProductMapperImpl;
+import com.example.product.model.Product;
+import com.example.product.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@WebMvcTest(ProductBatchController.class)
+@Import({ProductBatchControllerTest.TestSecurityConfig.class, ProductMapperImpl.class})
+public class ProductBatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductService productService;
+
+    @Test
+    public void testBatchGetProductsReportsMissingIds() throws Exception {
+        Product apple = new Product();
+        apple.setId(1L);
+        apple.setName("Apple");
+        apple.setPrice(0.99);
+        when(productService.getProductsByIds(List.of(1L, 7L, 1L))).thenReturn(List.of(apple));
+
+        mockMvc.perform(post("/products:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 7, 1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products.length()").value(1))
+                .andExpect(jsonPath("$.products[0].price").value(0.99))
+                .andExpect(jsonPath("$.missingIds").value(contains(7)));
+    }
+
+    @Test
+    public void testBatchGetProductsRejectsMissingOrMalformedBody() throws Exception {
+        mockMvc.perform(post("/products:batchGet").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/products/batch").contentType(MediaType.APPLICATION_JSON).content("null"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/products/batch").contentType(MediaType.APPLICATION_JSON).content("{\"ids\": [1]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @TestConfiguration
+    @Profile("test")
+    static class TestSecurityConfig {
+        @Bean
+        public SecurityFilterChain testFilterChain(HttpSecurity http) throws Exception {
+            http.csrf(csrf -> csrf.disable())
+                    .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+            return http.build();
+        }
+    }
+}
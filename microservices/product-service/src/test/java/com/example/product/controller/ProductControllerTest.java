@@ -2,19 +2,26 @@ package com.example.product.controller;
 
 import com.example.product.dto.ProductDTO;
 import com.example.product.model.Product;
+import com.example.product.mapper.ProductMapperImpl;
 import com.example.product.service.ProductService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -28,7 +35,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 @ActiveProfiles("test")
 @WebMvcTest(ProductController.class)
-@Import(ProductControllerTest.TestSecurityConfig.class)
+@Import({ProductControllerTest.TestSecurityConfig.class, ProductMapperImpl.class})
 public class ProductControllerTest {
 
     @Autowired
@@ -47,11 +54,12 @@ public class ProductControllerTest {
         product.setName("Test Product");
         product.setPrice(10.0);
 
-        when(productService.getAllProducts()).thenReturn(Collections.singletonList(product));
+        when(productService.getProductsAfter(0L, 1000)).thenReturn(Collections.singletonList(product));
 
         mockMvc.perform(get("/products"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].name").value("Test Product"));
+                .andExpect(jsonPath("$[0].name").value("Test Product"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
     }
 
     @Test
@@ -75,6 +83,126 @@ public class ProductControllerTest {
                 .andExpect(jsonPath("$.name").value("New Product"));
     }
 
+    @Test
+    public void testGetProductByIdHonoursIfNoneMatch() throws Exception {
+        Product product = new Product();
+        product.setId(1L);
+        product.setName("Apple");
+        product.setVersion(2L);
+
+        when(productService.getProductById(1L)).thenReturn(product);
+
+        mockMvc.perform(get("/products/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""));
+        mockMvc.perform(get("/products/1").header("If-None-Match", "\"2\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/products/1").header("If-None-Match", "\"1\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testGetAllProductsHonoursIfNoneMatch() throws Exception {
+        Product product = new Product();
+        product.setId(1L);
+        product.setVersion(0L);
+
+        when(productService.getProductsAfter(0L, 1000)).thenReturn(List.of(product));
+
+        String eTag = mockMvc.perform(get("/products")).andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/products").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testGetProductPage() throws Exception {
+        Product first = new Product();
+        first.setId(3L);
+        first.setName("Apple");
+        Product second = new Product();
+        second.setId(4L);
+        second.setName("Banana");
+
+        when(productService.getProductsAfter(2L, 2)).thenReturn(List.of(first, second));
+
+        mockMvc.perform(get("/products").param("after", "2").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].name").value("Banana"))
+                .andExpect(header().string("X-Next-Cursor", "4"));
+    }
+
+    @Test
+    public void testUpdateProductChecksIfMatchVersion() throws Exception {
+        Product updated = new Product();
+        updated.setId(1L);
+        updated.setName("Apple");
+        updated.setVersion(3L);
+        when(productService.updateProduct(eq(1L), any(Product.class), eq(2L))).thenReturn(updated);
+        when(productService.updateProduct(eq(1L), any(Product.class), eq(1L)))
+                .thenThrow(new OptimisticLockingFailureException("Product 1 is at version 2, not 1"));
+        String body = "{\"name\":\"Apple\",\"price\":1.0}";
+
+        mockMvc.perform(put("/products/1").header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+        mockMvc.perform(put("/products/1").header("If-Match", "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/products/1").header("If-Match", "apple")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetProductsByPriceUsesThePriceIndex() throws Exception {
+        when(productService.getProductsByPrice(1.0, Double.POSITIVE_INFINITY, true, 0, 2))
+                .thenReturn(List.of(new ProductDTO(5L, "Eggs", 2.99), new ProductDTO(4L, "Dairy Milk", 1.49)));
+        when(productService.countProductsByPrice(1.0, Double.POSITIVE_INFINITY)).thenReturn(2);
+
+        mockMvc.perform(get("/products").param("minPrice", "1").param("sort", "price,desc").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Eggs"))
+                .andExpect(header().string("X-Total-Count", "2"));
+        mockMvc.perform(get("/products").param("minPrice", "3").param("maxPrice", "1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/products").param("sort", "name"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/products").param("sort", "price").param("offset", "10001"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testStreamProductsAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<ProductDTO> consumer = invocation.getArgument(0);
+            consumer.accept(new ProductDTO(1L, "Apple", 0.99));
+            consumer.accept(new ProductDTO(2L, "Banana", 0.59));
+            return null;
+        }).when(productService).streamAllProducts(any());
+
+        MvcResult result = mockMvc.perform(get("/products").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1,\"name\":\"Apple\",\"price\":0.99}\n"
+                        + "{\"id\":2,\"name\":\"Banana\",\"price\":0.59}\n"));
+    }
+
+    @Test
+    public void testStreamEmptyCatalogAsEmptyNdjsonBody() throws Exception {
+        MvcResult result = mockMvc.perform(get("/products").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+    }
+
     @TestConfiguration
     @Profile("test")
     static class TestSecurityConfig {
@@ -83,9 +211,5 @@ public class ProductControllerTest {
             http.csrf().disable().authorizeHttpRequests().anyRequest().permitAll();
             return http.build();
         }
-        @Bean
-        public com.example.product.config.JwtUtil jwtUtil() {
-            return new com.example.product.config.JwtUtil();
-        }
     }
 } 
\ No newline at end of file
@@ -1,9 +1,14 @@
 package com.example.summary;
 
+import com.example.summary.config.SummaryHistoryProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@EnableConfigurationProperties(SummaryHistoryProperties.class)
 public class SummaryServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(SummaryServiceApplication.class, args);
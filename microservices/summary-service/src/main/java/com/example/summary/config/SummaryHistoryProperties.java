@@ -0,0 +1,18 @@
+package com.example.summary.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "summary.history")
+public class SummaryHistoryProperties {
+
+    /** Page size used when a history request does not ask for one. */
+    private int defaultPageSize = 50;
+
+    /** Largest page a history request may ask for; larger limits are clamped to this. */
+    private int maxPageSize = 500;
+
+    public int getDefaultPageSize() { return defaultPageSize; }
+    public void setDefaultPageSize(int defaultPageSize) { this.defaultPageSize = defaultPageSize; }
+    public int getMaxPageSize() { return maxPageSize; }
+    public void setMaxPageSize(int maxPageSize) { this.maxPageSize = maxPageSize; }
+}
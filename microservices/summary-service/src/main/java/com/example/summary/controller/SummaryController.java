@@ -1,44 +1,145 @@
 package com.example.summary.controller;
 
+import com.example.summary.config.SummaryHistoryProperties;
+import com.example.summary.dto.OrderCreatedEventDTO;
+import com.example.summary.dto.SpendingRollupDTO;
+import com.example.summary.dto.SummaryCursor;
 import com.example.summary.dto.SummaryDTO;
+import com.example.summary.dto.SummaryHistoryDTO;
+import com.example.summary.dto.SummaryStatsDTO;
+import com.example.summary.mapper.SummaryMapper;
+import com.example.summary.model.RollupGranularity;
 import com.example.summary.model.Summary;
+import com.example.summary.service.SpendingRollupService;
 import com.example.summary.service.SummaryService;
-import org.springframework.beans.BeanUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 @RestController
 @RequestMapping("/summaries")
 public class SummaryController {
 
     private final SummaryService summaryService;
+    private final SummaryMapper summaryMapper;
+    private final SpendingRollupService spendingRollupService;
+    private final SummaryHistoryProperties historyProperties;
+    private final ObjectMapper objectMapper;
 
-    public SummaryController(SummaryService summaryService) {
+    public SummaryController(SummaryService summaryService, SummaryMapper summaryMapper,
+                             SpendingRollupService spendingRollupService,
+                             SummaryHistoryProperties historyProperties, ObjectMapper objectMapper) {
         this.summaryService = summaryService;
+        this.summaryMapper = summaryMapper;
+        this.spendingRollupService = spendingRollupService;
+        this.historyProperties = historyProperties;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
     public SummaryDTO createSummary(@Valid @RequestBody SummaryDTO summaryDto) {
-        Summary summary = convertToEntity(summaryDto);
+        Summary summary = summaryMapper.toEntity(summaryDto);
         Summary createdSummary = summaryService.createSummary(summary);
-        return convertToDto(createdSummary);
+        return summaryMapper.toDto(createdSummary);
+    }
+
+    // Called by the order-service outbox relay with a batch of events; safe to redeliver
+    @PostMapping("/events/order-created")
+    public Map<String, Integer> consumeOrderCreatedEvents(@RequestBody List<OrderCreatedEventDTO> events) {
+        return Map.of("created", summaryService.consumeOrderEvents(events));
     }
 
     @GetMapping("/{id}")
     public SummaryDTO getSummary(@PathVariable Long id) {
         Summary summary = summaryService.getSummary(id);
-        return convertToDto(summary);
+        return summaryMapper.toDto(summary);
+    }
+
+    @GetMapping(value = "/users/{userId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<SummaryHistoryDTO>> getUserHistory(@PathVariable String userId,
+                                                                  @RequestParam(required = false) String after,
+                                                                  @RequestParam(required = false) Integer limit) {
+        int pageSize = Math.max(1, Math.min(limit != null ? limit : historyProperties.getDefaultPageSize(),
+                historyProperties.getMaxPageSize()));
+        SummaryCursor cursor = after != null ? SummaryCursor.decode(after) : null;
+        List<SummaryHistoryDTO> page = summaryService.getHistoryPage(userId, cursor, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.size() == pageSize) {
+            String next = SummaryCursor.after(page.get(page.size() - 1)).encode();
+            String link = UriComponentsBuilder.fromPath("/summaries/users/{userId}")
+                    .queryParam("after", next).queryParam("limit", pageSize)
+                    .buildAndExpand(userId).encode().toUriString();
+            response.header("X-Next-Cursor", next)
+                    .header(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        }
+        return response.body(page);
+    }
+
+    // One JSON document per line, written as rows come off the cursor, so memory stays flat for any history length.
+    @GetMapping(value = "/users/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUserHistory(@PathVariable String userId) {
+        StreamingResponseBody body = out -> {
+            SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out);
+            AtomicBoolean written = new AtomicBoolean();
+            summaryService.streamHistory(userId, summary -> {
+                try {
+                    writer.write(summary);
+                    written.set(true);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            // Ends the last line; an empty result stays an empty body
+            if (written.get()) {
+                out.write('\n');
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/users/{userId}/stats")
+    public SummaryStatsDTO getUserStats(@PathVariable String userId) {
+        return summaryService.getUserStats(userId);
+    }
+
+    @GetMapping("/users/{userId}/rollups")
+    public List<SpendingRollupDTO> getUserRollups(
+            @PathVariable String userId,
+            @RequestParam String granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return spendingRollupService.getRollups(userId, parseGranularity(granularity), from, to);
     }
 
-    private SummaryDTO convertToDto(Summary summary) {
-        SummaryDTO summaryDto = new SummaryDTO();
-        BeanUtils.copyProperties(summary, summaryDto);
-        return summaryDto;
+    @GetMapping("/rollups")
+    public List<SpendingRollupDTO> getGlobalRollups(
+            @RequestParam String granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return spendingRollupService.getGlobalRollups(parseGranularity(granularity), from, to);
     }
 
-    private Summary convertToEntity(SummaryDTO summaryDto) {
-        Summary summary = new Summary();
-        BeanUtils.copyProperties(summaryDto, summary);
-        return summary;
+    private static RollupGranularity parseGranularity(String granularity) {
+        try {
+            return RollupGranularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("granularity must be one of hour, day, month");
+        }
     }
 } 
\ No newline at end of file
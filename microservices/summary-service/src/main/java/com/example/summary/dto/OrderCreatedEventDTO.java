@@ -0,0 +1,9 @@
+package com.example.summary.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/** The "order created" event published by order-service through its outbox relay. */
+public record OrderCreatedEventDTO(Long orderId, String customerId, BigDecimal total, Integer itemCount,
+                                   Instant createdAt) {
+}
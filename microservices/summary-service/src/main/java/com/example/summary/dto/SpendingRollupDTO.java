@@ -0,0 +1,7 @@
+package com.example.summary.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record SpendingRollupDTO(LocalDateTime bucketStart, long orderCount, BigDecimal totalAmount) {
+}
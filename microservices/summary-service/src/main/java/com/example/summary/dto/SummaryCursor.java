@@ -0,0 +1,29 @@
+package com.example.summary.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/** Position after the last summary of a history page, handed to clients as an opaque token. */
+public record SummaryCursor(LocalDateTime createdAt, Long id) {
+
+    public static SummaryCursor after(SummaryHistoryDTO summary) {
+        return new SummaryCursor(summary.createdAt(), summary.id());
+    }
+
+    public String encode() {
+        String raw = createdAt + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SummaryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int comma = raw.indexOf(',');
+            return new SummaryCursor(LocalDateTime.parse(raw.substring(0, comma)), Long.valueOf(raw.substring(comma + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid history cursor");
+        }
+    }
+}
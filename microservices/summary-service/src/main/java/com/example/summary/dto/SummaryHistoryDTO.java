@@ -0,0 +1,8 @@
+package com.example.summary.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record SummaryHistoryDTO(Long id, Long orderId, BigDecimal totalAmount, Integer itemCount,
+                                LocalDateTime createdAt) {
+}
@@ -0,0 +1,22 @@
+package com.example.summary.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+public record SummaryStatsDTO(long orderCount, BigDecimal totalAmount, BigDecimal averageAmount,
+                              BigDecimal minAmount, BigDecimal maxAmount, LocalDateTime lastOrderAt) {
+
+    // Used by the JPQL projection and for stored aggregates; the average is derived from the exact sum since AVG over a
+    // decimal column comes back as a double
+    public SummaryStatsDTO(Long orderCount, BigDecimal totalAmount, BigDecimal minAmount,
+                           BigDecimal maxAmount, LocalDateTime lastOrderAt) {
+        this(orderCount, totalAmount != null ? totalAmount : BigDecimal.ZERO,
+                average(totalAmount, orderCount), minAmount, maxAmount, lastOrderAt);
+    }
+
+    private static BigDecimal average(BigDecimal total, long count) {
+        if (total == null || count == 0) return BigDecimal.ZERO;
+        return total.divide(BigDecimal.valueOf(count), RoundingMode.HALF_UP);
+    }
+}
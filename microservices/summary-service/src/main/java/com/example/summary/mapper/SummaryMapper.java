@@ -0,0 +1,27 @@
+package com.example.summary.mapper;
+
+import com.example.summary.dto.SummaryDTO;
+import com.example.summary.model.Summary;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Compile-time generated conversion between {@link Summary} and {@link SummaryDTO}. Any target
+ * property that is neither mapped nor explicitly ignored fails the build.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface SummaryMapper {
+
+    // Only the item count is stored, so the item names cannot be rebuilt
+    @Mapping(target = "total", source = "totalAmount")
+    @Mapping(target = "items", ignore = true)
+    SummaryDTO toDto(Summary summary);
+
+    @Mapping(target = "totalAmount", source = "total")
+    @Mapping(target = "itemCount", expression = "java(summaryDto.getItems() == null ? null : summaryDto.getItems().size())")
+    @Mapping(target = "userId", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "details", ignore = true)
+    Summary toEntity(SummaryDTO summaryDto);
+}
@@ -0,0 +1,36 @@
+package com.example.summary.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/** Marks an order whose created event has been turned into a summary, so redeliveries are skipped. */
+@Entity
+@Table(name = "processed_order_event")
+public class ProcessedOrderEvent implements Persistable<Long> {
+    @Id
+    private Long orderId;
+    private LocalDateTime processedAt;
+
+    protected ProcessedOrderEvent() {
+    }
+
+    public ProcessedOrderEvent(Long orderId, LocalDateTime processedAt) {
+        this.orderId = orderId;
+        this.processedAt = processedAt;
+    }
+
+    @Override
+    public Long getId() { return orderId; }
+
+    public LocalDateTime getProcessedAt() { return processedAt; }
+
+    // Rows are only ever inserted, so save() can persist without first selecting by id
+    @Override
+    @Transient
+    public boolean isNew() { return true; }
+}
@@ -0,0 +1,7 @@
+package com.example.summary.model;
+
+/** Whose spending a rollup bucket counts: one user's, or every user's. */
+public enum RollupScope {
+    USER,
+    ALL
+}
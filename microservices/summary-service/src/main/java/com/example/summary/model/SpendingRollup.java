@@ -0,0 +1,30 @@
+package com.example.summary.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+/**
+ * Spending of one user, or of all users, within one hour, day or month. Buckets are updated as
+ * summaries are written, so range queries read one row per bucket.
+ */
+@Entity
+@Table(name = "spending_rollup",
+        indexes = @Index(name = "idx_rollup_range", columnList = "scope, user_id, granularity, bucket_start"))
+public class SpendingRollup {
+    // The user id of RollupScope.ALL buckets; the scope column keeps them apart from any real user's
+    public static final String NO_USER = "";
+
+    @EmbeddedId
+    private SpendingRollupId id;
+    private long orderCount;
+    private BigDecimal totalAmount;
+
+    public SpendingRollupId getId() { return id; }
+    public void setId(SpendingRollupId id) { this.id = id; }
+
+    public long getOrderCount() { return orderCount; }
+    public void setOrderCount(long orderCount) { this.orderCount = orderCount; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+}
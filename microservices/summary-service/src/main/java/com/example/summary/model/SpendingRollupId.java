@@ -0,0 +1,51 @@
+package com.example.summary.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Embeddable
+public class SpendingRollupId implements Serializable {
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", length = 8)
+    private RollupScope scope;
+    @Column(name = "user_id")
+    private String userId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", length = 8)
+    private RollupGranularity granularity;
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    public SpendingRollupId() {
+    }
+
+    public SpendingRollupId(RollupScope scope, String userId, RollupGranularity granularity, LocalDateTime bucketStart) {
+        this.scope = scope;
+        this.userId = userId;
+        this.granularity = granularity;
+        this.bucketStart = bucketStart;
+    }
+
+    public RollupScope getScope() { return scope; }
+    public String getUserId() { return userId; }
+    public RollupGranularity getGranularity() { return granularity; }
+    public LocalDateTime getBucketStart() { return bucketStart; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SpendingRollupId other)) return false;
+        return scope == other.scope && Objects.equals(userId, other.userId) && granularity == other.granularity
+                && Objects.equals(bucketStart, other.bucketStart);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(scope, userId, granularity, bucketStart);
+    }
+}
@@ -1,13 +1,15 @@
 package com.example.summary.model;
 
+import com.example.persistence.PooledSequence;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = @Index(name = "idx_summary_user_created", columnList = "user_id, created_at"))
 public class Summary {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("summary_seq")
     private Long id;
     private String userId;
     private Long orderId;
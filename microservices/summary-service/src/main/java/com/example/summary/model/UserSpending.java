@@ -0,0 +1,51 @@
+package com.example.summary.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running totals over a user's summaries, kept up to date by {@code SummaryService.createSummary}
+ * so spending reads never have to scan the summary table.
+ */
+@Entity
+@Table(name = "user_spending")
+public class UserSpending {
+    @Id
+    private String userId;
+    private BigDecimal totalAmount;
+    private long orderCount;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private LocalDateTime lastOrderAt;
+
+    public UserSpending() {
+    }
+
+    public UserSpending(String userId, BigDecimal amount, LocalDateTime orderedAt) {
+        this.userId = userId;
+        this.totalAmount = amount;
+        this.orderCount = 1;
+        this.minAmount = amount;
+        this.maxAmount = amount;
+        this.lastOrderAt = orderedAt;
+    }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public long getOrderCount() { return orderCount; }
+    public void setOrderCount(long orderCount) { this.orderCount = orderCount; }
+
+    public BigDecimal getMinAmount() { return minAmount; }
+    public void setMinAmount(BigDecimal minAmount) { this.minAmount = minAmount; }
+
+    public BigDecimal getMaxAmount() { return maxAmount; }
+    public void setMaxAmount(BigDecimal maxAmount) { this.maxAmount = maxAmount; }
+
+    public LocalDateTime getLastOrderAt() { return lastOrderAt; }
+    public void setLastOrderAt(LocalDateTime lastOrderAt) { this.lastOrderAt = lastOrderAt; }
+}
@@ -0,0 +1,15 @@
+package com.example.summary.repository;
+
+import com.example.summary.model.ProcessedOrderEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface ProcessedOrderEventRepository extends JpaRepository<ProcessedOrderEvent, Long> {
+
+    @Query("select e.orderId from ProcessedOrderEvent e where e.orderId in :orderIds")
+    Set<Long> findProcessedOrderIds(@Param("orderIds") Collection<Long> orderIds);
+}
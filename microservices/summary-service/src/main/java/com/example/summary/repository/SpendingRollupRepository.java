@@ -0,0 +1,39 @@
+package com.example.summary.repository;
+
+import com.example.summary.dto.SpendingRollupDTO;
+import com.example.summary.model.RollupGranularity;
+import com.example.summary.model.RollupScope;
+import com.example.summary.model.SpendingRollup;
+import com.example.summary.model.SpendingRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SpendingRollupRepository extends JpaRepository<SpendingRollup, SpendingRollupId> {
+
+    @Modifying
+    @Query("update SpendingRollup r set r.orderCount = r.orderCount + 1, r.totalAmount = r.totalAmount + :amount "
+            + "where r.id.scope = :scope and r.id.userId = :userId and r.id.granularity = :granularity and r.id.bucketStart = :bucketStart")
+    int addOrder(@Param("scope") RollupScope scope, @Param("userId") String userId, @Param("granularity") RollupGranularity granularity,
+                 @Param("bucketStart") LocalDateTime bucketStart, @Param("amount") BigDecimal amount);
+
+    // Creates an empty bucket unless one exists, in the caller's transaction: a concurrent writer that
+    // created it first turns the insert into a no-op instead of a key violation. H2 profiles run in
+    // PostgreSQL mode for the ON CONFLICT clause.
+    @Modifying
+    @Query(value = "insert into spending_rollup (scope, user_id, granularity, bucket_start, order_count, total_amount) "
+            + "values (:scope, :userId, :granularity, :bucketStart, 0, 0) on conflict do nothing", nativeQuery = true)
+    void createBucket(@Param("scope") String scope, @Param("userId") String userId, @Param("granularity") String granularity,
+                      @Param("bucketStart") LocalDateTime bucketStart);
+
+    @Query("select new com.example.summary.dto.SpendingRollupDTO(r.id.bucketStart, r.orderCount, r.totalAmount) "
+            + "from SpendingRollup r where r.id.scope = :scope and r.id.userId = :userId and r.id.granularity = :granularity "
+            + "and r.id.bucketStart >= :from and r.id.bucketStart < :to order by r.id.bucketStart")
+    List<SpendingRollupDTO> findRange(@Param("scope") RollupScope scope, @Param("userId") String userId,
+                                      @Param("granularity") RollupGranularity granularity, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -1,9 +1,44 @@
 package com.example.summary.repository;
 
+import com.example.summary.dto.SummaryHistoryDTO;
+import com.example.summary.dto.SummaryStatsDTO;
 import com.example.summary.model.Summary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface SummaryRepository extends JpaRepository<Summary, Long> {
     java.util.List<Summary> findByUserId(String userId);
     long countByUserId(String userId);
-} 
\ No newline at end of file
+
+    // One aggregate row computed in the database; a missing amount counts as zero, as in the aggregates
+    @Query("select new com.example.summary.dto.SummaryStatsDTO(count(s), sum(coalesce(s.totalAmount, 0)), "
+            + "min(coalesce(s.totalAmount, 0)), max(coalesce(s.totalAmount, 0)), max(s.createdAt)) "
+            + "from Summary s where s.userId = :userId")
+    SummaryStatsDTO findStatsByUserId(@Param("userId") String userId);
+
+    // History is read newest first on (createdAt, id), which the (user_id, created_at) index serves
+    @Query("select new com.example.summary.dto.SummaryHistoryDTO(s.id, s.orderId, s.totalAmount, s.itemCount, s.createdAt) "
+            + "from Summary s where s.userId = :userId order by s.createdAt desc, s.id desc")
+    List<SummaryHistoryDTO> findHistory(@Param("userId") String userId, Limit limit);
+
+    @Query("select new com.example.summary.dto.SummaryHistoryDTO(s.id, s.orderId, s.totalAmount, s.itemCount, s.createdAt) "
+            + "from Summary s where s.userId = :userId "
+            + "and (s.createdAt < :createdAt or (s.createdAt = :createdAt and s.id < :id)) "
+            + "order by s.createdAt desc, s.id desc")
+    List<SummaryHistoryDTO> findHistoryBefore(@Param("userId") String userId, @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.summary.dto.SummaryHistoryDTO(s.id, s.orderId, s.totalAmount, s.itemCount, s.createdAt) "
+            + "from Summary s where s.userId = :userId order by s.createdAt desc, s.id desc")
+    Stream<SummaryHistoryDTO> streamHistory(@Param("userId") String userId);
+}
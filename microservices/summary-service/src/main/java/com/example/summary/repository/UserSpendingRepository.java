@@ -0,0 +1,36 @@
+package com.example.summary.repository;
+
+import com.example.summary.model.UserSpending;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface UserSpendingRepository extends JpaRepository<UserSpending, String> {
+
+    // Applied in the database so concurrent orders for the same user cannot lose an update
+    @Modifying
+    @Query("update UserSpending u set u.totalAmount = u.totalAmount + :amount, u.orderCount = u.orderCount + 1, "
+            + "u.minAmount = case when u.minAmount <= :amount then u.minAmount else :amount end, "
+            + "u.maxAmount = case when u.maxAmount >= :amount then u.maxAmount else :amount end, "
+            + "u.lastOrderAt = case when u.lastOrderAt >= :orderedAt then u.lastOrderAt else :orderedAt end "
+            + "where u.userId = :userId")
+    int addOrder(@Param("userId") String userId, @Param("amount") BigDecimal amount,
+                 @Param("orderedAt") LocalDateTime orderedAt);
+
+    // An empty row that addOrder then fills in; a row another writer created first is left alone
+    @Modifying
+    @Query(value = "insert into user_spending (user_id, total_amount, order_count) values (:userId, 0, 0) "
+            + "on conflict do nothing", nativeQuery = true)
+    void createIfAbsent(@Param("userId") String userId);
+
+    @Modifying
+    @Query("insert into UserSpending (userId, totalAmount, orderCount, minAmount, maxAmount, lastOrderAt) "
+            + "select s.userId, sum(coalesce(s.totalAmount, 0)), count(s), min(coalesce(s.totalAmount, 0)), "
+            + "max(coalesce(s.totalAmount, 0)), max(s.createdAt) "
+            + "from Summary s where s.userId is not null group by s.userId")
+    int insertFromSummaries();
+}
@@ -0,0 +1,67 @@
+package com.example.summary.service;
+
+import com.example.summary.dto.SpendingRollupDTO;
+import com.example.summary.model.RollupGranularity;
+import com.example.summary.model.RollupScope;
+import com.example.summary.model.SpendingRollup;
+import com.example.summary.repository.SpendingRollupRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class SpendingRollupService {
+    static final int MAX_BUCKETS = 10_000;
+
+    private final SpendingRollupRepository rollupRepository;
+
+    public SpendingRollupService(SpendingRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    /** Adds one order to the global bucket, and the user's when known, at every granularity. */
+    @Transactional
+    public void record(String userId, BigDecimal amount, LocalDateTime orderedAt) {
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            LocalDateTime bucketStart = granularity.bucketStart(orderedAt);
+            if (userId != null) {
+                add(RollupScope.USER, userId, granularity, bucketStart, amount);
+            }
+            add(RollupScope.ALL, SpendingRollup.NO_USER, granularity, bucketStart, amount);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<SpendingRollupDTO> getRollups(String userId, RollupGranularity granularity,
+                                              LocalDateTime from, LocalDateTime to) {
+        return findRange(RollupScope.USER, userId, granularity, from, to);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SpendingRollupDTO> getGlobalRollups(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        return findRange(RollupScope.ALL, SpendingRollup.NO_USER, granularity, from, to);
+    }
+
+    private List<SpendingRollupDTO> findRange(RollupScope scope, String userId, RollupGranularity granularity,
+                                              LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (granularity.unit().between(granularity.bucketStart(from), to) > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Range spans more than " + MAX_BUCKETS + " buckets; use a coarser granularity");
+        }
+        return rollupRepository.findRange(scope, userId, granularity, granularity.bucketStart(from), to);
+    }
+
+    private void add(RollupScope scope, String userId, RollupGranularity granularity, LocalDateTime bucketStart,
+                     BigDecimal amount) {
+        if (rollupRepository.addOrder(scope, userId, granularity, bucketStart, amount) > 0) {
+            return;
+        }
+        rollupRepository.createBucket(scope.name(), userId, granularity.name(), bucketStart);
+        rollupRepository.addOrder(scope, userId, granularity, bucketStart, amount);
+    }
+}
@@ -1,19 +1,99 @@
 package com.example.summary.service;
 
+import com.example.summary.dto.OrderCreatedEventDTO;
+import com.example.summary.dto.SummaryCursor;
+import com.example.summary.dto.SummaryHistoryDTO;
+import com.example.summary.dto.SummaryStatsDTO;
+import com.example.summary.model.ProcessedOrderEvent;
 import com.example.summary.model.Summary;
+import com.example.summary.repository.ProcessedOrderEventRepository;
 import com.example.summary.repository.SummaryRepository;
+import com.example.summary.repository.UserSpendingRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class SummaryService {
     @Autowired
     private SummaryRepository summaryRepository;
+    @Autowired
+    private UserSpendingRepository userSpendingRepository;
+    @Autowired
+    private SpendingRollupService spendingRollupService;
+    @Autowired
+    private ProcessedOrderEventRepository processedOrderEventRepository;
 
+    @Transactional
     public Summary createSummary(Summary summary) {
-        return summaryRepository.save(summary);
+        if (summary.getCreatedAt() == null) {
+            summary.setCreatedAt(LocalDateTime.now());
+        }
+        Summary saved = summaryRepository.save(summary);
+        applyToAggregates(saved);
+        return saved;
+    }
+
+    /**
+     * Turns a batch of order-created events into summaries in one transaction. Orders that already
+     * have a summary from an earlier delivery, or appear twice in the batch, are skipped, so the
+     * relay can safely redeliver. Returns the number of summaries created.
+     */
+    @Transactional
+    public int consumeOrderEvents(List<OrderCreatedEventDTO> events) {
+        Map<Long, OrderCreatedEventDTO> byOrderId = new LinkedHashMap<>();
+        for (OrderCreatedEventDTO event : events) {
+            if (event.orderId() == null) {
+                throw new IllegalArgumentException("Order created event without an orderId");
+            }
+            byOrderId.putIfAbsent(event.orderId(), event);
+        }
+        if (byOrderId.isEmpty()) {
+            return 0;
+        }
+        Set<Long> processed = processedOrderEventRepository.findProcessedOrderIds(byOrderId.keySet());
+        LocalDateTime now = LocalDateTime.now();
+        List<Summary> summaries = new ArrayList<>();
+        List<ProcessedOrderEvent> markers = new ArrayList<>();
+        for (OrderCreatedEventDTO event : byOrderId.values()) {
+            if (processed.contains(event.orderId())) {
+                continue;
+            }
+            Summary summary = new Summary();
+            summary.setOrderId(event.orderId());
+            summary.setUserId(event.customerId());
+            summary.setTotalAmount(event.total());
+            summary.setItemCount(event.itemCount());
+            summary.setCreatedAt(event.createdAt() != null
+                    ? LocalDateTime.ofInstant(event.createdAt(), ZoneId.systemDefault()) : now);
+            summaries.add(summary);
+            markers.add(new ProcessedOrderEvent(event.orderId(), now));
+        }
+        // A concurrent delivery of the same order fails here on the primary key and the batch is retried
+        processedOrderEventRepository.saveAll(markers);
+        summaryRepository.saveAll(summaries).forEach(this::applyToAggregates);
+        return summaries.size();
+    }
+
+    private void applyToAggregates(Summary saved) {
+        BigDecimal amount = saved.getTotalAmount() != null ? saved.getTotalAmount() : BigDecimal.ZERO;
+        if (saved.getUserId() != null
+                && userSpendingRepository.addOrder(saved.getUserId(), amount, saved.getCreatedAt()) == 0) {
+            userSpendingRepository.createIfAbsent(saved.getUserId());
+            userSpendingRepository.addOrder(saved.getUserId(), amount, saved.getCreatedAt());
+        }
+        spendingRollupService.record(saved.getUserId(), amount, saved.getCreatedAt());
     }
 
     public Summary getSummary(Long id) {
@@ -28,27 +108,70 @@ public class SummaryService {
         return summaryRepository.findByUserId(userId);
     }
 
+    /** Keyset page of a user's summaries, newest first, starting after {@code cursor} when given. */
+    @Transactional(readOnly = true)
+    public List<SummaryHistoryDTO> getHistoryPage(String userId, SummaryCursor cursor, int limit) {
+        if (cursor == null) {
+            return summaryRepository.findHistory(userId, Limit.of(limit));
+        }
+        return summaryRepository.findHistoryBefore(userId, cursor.createdAt(), cursor.id(), Limit.of(limit));
+    }
+
+    /** Hands every summary of the user to the consumer as it is read from the database cursor. */
+    @Transactional(readOnly = true)
+    public void streamHistory(String userId, Consumer<SummaryHistoryDTO> consumer) {
+        try (Stream<SummaryHistoryDTO> history = summaryRepository.streamHistory(userId)) {
+            history.forEach(consumer);
+        }
+    }
+
+    /**
+     * Spending stats for a user, read from the maintained aggregate. Users without an aggregate row
+     * (no orders, or summaries written before aggregates existed) fall back to one projection query.
+     */
+    @Transactional(readOnly = true)
+    public SummaryStatsDTO getUserStats(String userId) {
+        return userSpendingRepository.findById(userId)
+                .map(spending -> new SummaryStatsDTO(spending.getOrderCount(), spending.getTotalAmount(),
+                        spending.getMinAmount(), spending.getMaxAmount(), spending.getLastOrderAt()))
+                .orElseGet(() -> summaryRepository.findStatsByUserId(userId));
+    }
+
     public BigDecimal getUserTotalSpending(String userId) {
-        List<Summary> summaries = summaryRepository.findByUserId(userId);
-        return summaries.stream()
-                .map(s -> s.getTotalAmount() != null ? s.getTotalAmount() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return getUserStats(userId).totalAmount();
     }
 
     public long getUserOrderCount(String userId) {
-        return summaryRepository.countByUserId(userId);
+        return getUserStats(userId).orderCount();
     }
 
     public BigDecimal getAverageOrderAmount(String userId) {
-        List<Summary> summaries = summaryRepository.findByUserId(userId);
-        if (summaries.isEmpty()) return BigDecimal.ZERO;
-        BigDecimal total = summaries.stream()
-                .map(s -> s.getTotalAmount() != null ? s.getTotalAmount() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        return total.divide(BigDecimal.valueOf(summaries.size()), BigDecimal.ROUND_HALF_UP);
+        return getUserStats(userId).averageAmount();
+    }
+
+    /**
+     * Recomputes every user's aggregate from the summary rows, e.g. after a backfill or when the
+     * running totals are suspected to have drifted. Returns the number of users rebuilt.
+     */
+    @Transactional
+    public int rebuildUserSpending() {
+        userSpendingRepository.deleteAllInBatch();
+        return userSpendingRepository.insertFromSummaries();
     }
 
     public void setSummaryRepository(SummaryRepository summaryRepository) {
         this.summaryRepository = summaryRepository;
     }
+
+    public void setUserSpendingRepository(UserSpendingRepository userSpendingRepository) {
+        this.userSpendingRepository = userSpendingRepository;
+    }
+
+    public void setSpendingRollupService(SpendingRollupService spendingRollupService) {
+        this.spendingRollupService = spendingRollupService;
+    }
+
+    public void setProcessedOrderEventRepository(ProcessedOrderEventRepository processedOrderEventRepository) {
+        this.processedOrderEventRepository = processedOrderEventRepository;
+    }
 } 
\ No newline at end of file
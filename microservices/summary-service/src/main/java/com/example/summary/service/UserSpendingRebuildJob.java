@@ -0,0 +1,28 @@
+package com.example.summary.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically rebuilds the per-user spending aggregates from the raw summaries. Disabled unless
+ * {@code summary.spending.rebuild-cron} is set; run it off-peak since it rewrites every aggregate row.
+ */
+@Component
+public class UserSpendingRebuildJob {
+    private static final Logger log = LoggerFactory.getLogger(UserSpendingRebuildJob.class);
+
+    private final SummaryService summaryService;
+
+    public UserSpendingRebuildJob(SummaryService summaryService) {
+        this.summaryService = summaryService;
+    }
+
+    @Scheduled(cron = "${summary.spending.rebuild-cron:-}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        int users = summaryService.rebuildUserSpending();
+        log.info("Rebuilt spending aggregates for {} users in {} ms", users, (System.nanoTime() - start) / 1_000_000);
+    }
+}
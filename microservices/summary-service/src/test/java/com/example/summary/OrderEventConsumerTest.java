@@ -0,0 +1,87 @@
+package com.example.summary;
+
+import com.example.summary.repository.ProcessedOrderEventRepository;
+import com.example.summary.repository.SpendingRollupRepository;
+import com.example.summary.repository.SummaryRepository;
+import com.example.summary.repository.UserSpendingRepository;
+import com.example.summary.service.SummaryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class OrderEventConsumerTest {
+
+    private static final String BATCH = """
+            [{"orderId": 101, "customerId": "alice", "total": 12.5, "itemCount": 2, "createdAt": "2024-05-01T10:15:30Z"},
+             {"orderId": 102, "customerId": "alice", "total": 7.5, "itemCount": 1, "createdAt": "2024-05-01T11:00:00Z"},
+             {"orderId": 101, "customerId": "alice", "total": 12.5, "itemCount": 2, "createdAt": "2024-05-01T10:15:30Z"}]
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SummaryService summaryService;
+
+    @Autowired
+    private SummaryRepository summaryRepository;
+
+    @Autowired
+    private ProcessedOrderEventRepository processedOrderEventRepository;
+
+    @Autowired
+    private UserSpendingRepository userSpendingRepository;
+
+    @Autowired
+    private SpendingRollupRepository spendingRollupRepository;
+
+    @BeforeEach
+    void setUp() {
+        processedOrderEventRepository.deleteAllInBatch();
+        spendingRollupRepository.deleteAllInBatch();
+        userSpendingRepository.deleteAllInBatch();
+        summaryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testRedeliveredEventsCreateOneSummaryPerOrder() throws Exception {
+        // Act
+        mockMvc.perform(post("/summaries/events/order-created").contentType(MediaType.APPLICATION_JSON).content(BATCH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2));
+        mockMvc.perform(post("/summaries/events/order-created").contentType(MediaType.APPLICATION_JSON).content(BATCH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(0));
+
+        // Assert
+        assertEquals(2, summaryRepository.count());
+        assertEquals(1, summaryRepository.findByUserId("alice").stream().filter(s -> s.getOrderId() == 101L).count());
+        assertEquals(2, summaryService.getUserOrderCount("alice"));
+        assertEquals(0, new BigDecimal("20.00").compareTo(summaryService.getUserTotalSpending("alice")));
+    }
+
+    @Test
+    void testEventWithoutOrderIdIsRejected() throws Exception {
+        mockMvc.perform(post("/summaries/events/order-created").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"customerId\": \"alice\", \"total\": 1}]"))
+                .andExpect(status().isBadRequest());
+        assertEquals(0, summaryRepository.count());
+    }
+}
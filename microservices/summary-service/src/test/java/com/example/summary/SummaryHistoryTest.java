@@ -0,0 +1,120 @@
+package com.example.summary;
+
+import com.example.summary.model.Summary;
+import com.example.summary.repository.SummaryRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "summary.history.max-page-size=4")
+@AutoConfigureMockMvc
+@WithMockUser
+class SummaryHistoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SummaryRepository summaryRepository;
+
+    private final List<Long> newestFirst = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        summaryRepository.deleteAllInBatch();
+        List<Summary> saved = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            // Pairs share a timestamp so the id tie-breaker is exercised
+            saved.add(summaryRepository.save(summary("alice", START.plusDays(i / 2))));
+        }
+        summaryRepository.save(summary("bob", START));
+        saved.sort(Comparator.comparing(Summary::getCreatedAt).thenComparing(Summary::getId).reversed());
+        saved.forEach(summary -> newestFirst.add(summary.getId()));
+    }
+
+    @Test
+    void testKeysetPagesCoverTheHistoryOnceNewestFirst() throws Exception {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        // Act
+        do {
+            var request = get("/summaries/users/alice").param("limit", "100");
+            if (cursor != null) {
+                request.param("after", cursor);
+            }
+            MvcResult page = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+            JsonNode body = objectMapper.readTree(page.getResponse().getContentAsString());
+            assertTrue(body.size() <= 4);
+            body.forEach(summary -> ids.add(summary.get("id").asLong()));
+            cursor = page.getResponse().getHeader("X-Next-Cursor");
+            pages++;
+        } while (cursor != null);
+        // Assert
+        assertEquals(newestFirst, ids);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void testInvalidCursorIsBadRequest() throws Exception {
+        mockMvc.perform(get("/summaries/users/alice").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testNdjsonExportsWholeHistory() throws Exception {
+        // Act
+        MvcResult result = mockMvc.perform(get("/summaries/users/alice").accept(MediaType.APPLICATION_NDJSON)).andReturn();
+        String body = mockMvc.perform(asyncDispatch(result)).andReturn().getResponse().getContentAsString();
+        // Assert
+        String[] lines = body.split("\n");
+        assertEquals(9, lines.length);
+        assertEquals(newestFirst.get(0), objectMapper.readTree(lines[0]).get("id").asLong());
+    }
+
+    @Test
+    void testNdjsonExportOfUnknownUserIsEmpty() throws Exception {
+        // Act
+        MvcResult result = mockMvc.perform(get("/summaries/users/nobody").accept(MediaType.APPLICATION_NDJSON)).andReturn();
+        String body = mockMvc.perform(asyncDispatch(result)).andReturn().getResponse().getContentAsString();
+        // Assert
+        assertEquals("", body);
+    }
+
+    private static Summary summary(String userId, LocalDateTime createdAt) {
+        Summary summary = new Summary();
+        summary.setUserId(userId);
+        summary.setOrderId(1L);
+        summary.setTotalAmount(BigDecimal.TEN);
+        summary.setItemCount(1);
+        summary.setCreatedAt(createdAt);
+        return summary;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.summary.benchmark;
+
+import com.example.summary.SummaryServiceApplication;
+import com.example.summary.dto.OrderCreatedEventDTO;
+import com.example.summary.service.SummaryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order events per second turned into summaries through {@link SummaryService#consumeOrderEvents},
+ * {@value #EVENTS_PER_CALL} events per call spread over a handful of users, with JDBC batching off
+ * ({@code batchSize=1}) and on, and with ids fetched one per row ({@code allocationSize=1}) or in
+ * pooled blocks. Run from the module directory with the following, adding
+ * {@code -p profiles=test,postgres} to target a local Postgres:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main SummaryIngestionBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(SummaryIngestionBenchmark.EVENTS_PER_CALL)
+public class SummaryIngestionBenchmark {
+    static final int EVENTS_PER_CALL = 500;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    @Param({"1", "50"})
+    private int allocationSize;
+
+    @Param("test")
+    private String profiles;
+
+    private ConfigurableApplicationContext context;
+    private SummaryService summaryService;
+    private long nextOrderId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SummaryServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profiles.split(","))
+                .properties("spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "grocery.id.allocation-size=" + allocationSize,
+                        "logging.level.root=WARN")
+                .run();
+        summaryService = context.getBean(SummaryService.class);
+        // Keeps order ids unique across runs against a persistent database
+        nextOrderId = System.currentTimeMillis() * 1000;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int consumeOrderEvents() {
+        List<OrderCreatedEventDTO> events = new ArrayList<>(EVENTS_PER_CALL);
+        Instant now = Instant.now();
+        for (int i = 0; i < EVENTS_PER_CALL; i++) {
+            events.add(new OrderCreatedEventDTO(nextOrderId++, "user-" + i % 10, BigDecimal.valueOf(750, 2), 3, now));
+        }
+        return summaryService.consumeOrderEvents(events);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.summary.benchmark;
+
+import com.example.summary.dto.SummaryDTO;
+import com.example.summary.mapper.SummaryMapper;
+import com.example.summary.mapper.SummaryMapperImpl;
+import com.example.summary.model.Summary;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflective {@code BeanUtils.copyProperties} conversion the controller used to do with
+ * the generated {@link SummaryMapper}, in both directions. Run from the module directory with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main SummaryMappingBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SummaryMappingBenchmark {
+    private final SummaryMapper mapper = new SummaryMapperImpl();
+    private Summary entity;
+    private SummaryDTO dto;
+
+    @Setup
+    public void setUp() {
+        entity = new Summary();
+        entity.setId(1L);
+        entity.setUserId("user123");
+        entity.setOrderId(2L);
+        entity.setTotalAmount(BigDecimal.valueOf(12.5));
+        entity.setItemCount(3);
+        entity.setCreatedAt(LocalDateTime.now());
+        dto = new SummaryDTO();
+        dto.setId(1L);
+        dto.setOrderId(2L);
+        dto.setItems(List.of("apple", "bread", "milk"));
+        dto.setTotal(12.5);
+    }
+
+    @Benchmark
+    public SummaryDTO beanUtilsToDto() {
+        SummaryDTO result = new SummaryDTO();
+        BeanUtils.copyProperties(entity, result);
+        return result;
+    }
+
+    @Benchmark
+    public SummaryDTO mapperToDto() {
+        return mapper.toDto(entity);
+    }
+
+    @Benchmark
+    public Summary beanUtilsToEntity() {
+        Summary result = new Summary();
+        BeanUtils.copyProperties(dto, result);
+        return result;
+    }
+
+    @Benchmark
+    public Summary mapperToEntity() {
+        return mapper.toEntity(dto);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.summary.benchmark;
+
+import com.example.summary.SummaryServiceApplication;
+import com.example.summary.dto.SummaryStatsDTO;
+import com.example.summary.model.Summary;
+import com.example.summary.repository.SummaryRepository;
+import com.example.summary.service.SummaryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the original dashboard reads (load every summary of the user and reduce the amounts in
+ * Java, once for the total and once for the average, plus a count) with the single projection query
+ * and the maintained aggregate behind GET /summaries/users/{userId}/stats. Run from the module directory with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main SummaryStatsBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SummaryStatsBenchmark {
+    private static final String USER_ID = "heavy-user";
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private SummaryService summaryService;
+    private SummaryRepository summaryRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SummaryServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.level.root=WARN")
+                .run();
+        summaryService = context.getBean(SummaryService.class);
+        summaryRepository = context.getBean(SummaryRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        LocalDateTime start = LocalDateTime.now().minusDays(rows);
+        for (int from = 0; from < rows; from += 1000) {
+            List<Summary> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(rows, from + 1000); i++) {
+                Summary summary = new Summary();
+                summary.setUserId(USER_ID);
+                summary.setOrderId((long) i);
+                summary.setTotalAmount(BigDecimal.valueOf(1000 + i, 2));
+                summary.setItemCount(1);
+                summary.setCreatedAt(start.plusDays(i));
+                chunk.add(summary);
+            }
+            transactionTemplate.executeWithoutResult(status -> summaryRepository.saveAll(chunk));
+        }
+        summaryService.rebuildUserSpending();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BigDecimal[] streamReduce() {
+        return transactionTemplate.execute(status -> {
+            BigDecimal total = reduce(summaryRepository.findByUserId(USER_ID));
+            long count = summaryRepository.countByUserId(USER_ID);
+            List<Summary> summaries = summaryRepository.findByUserId(USER_ID);
+            BigDecimal average = reduce(summaries).divide(BigDecimal.valueOf(summaries.size()), BigDecimal.ROUND_HALF_UP);
+            return new BigDecimal[]{total, BigDecimal.valueOf(count), average};
+        });
+    }
+
+    @Benchmark
+    public SummaryStatsDTO projectionQuery() {
+        return transactionTemplate.execute(status -> summaryRepository.findStatsByUserId(USER_ID));
+    }
+
+    @Benchmark
+    public SummaryStatsDTO aggregateLookup() {
+        return summaryService.getUserStats(USER_ID);
+    }
+
+    private static BigDecimal reduce(List<Summary> summaries) {
+        return summaries.stream()
+                .map(s -> s.getTotalAmount() != null ? s.getTotalAmount() : BigDecimal.ZERO)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
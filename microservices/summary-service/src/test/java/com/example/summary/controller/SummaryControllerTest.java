@@ -1,19 +1,146 @@
 package com.example.summary.controller;
 
+import com.example.summary.dto.SpendingRollupDTO;
+import com.example.summary.dto.SummaryDTO;
+import com.example.summary.dto.SummaryStatsDTO;
+import com.example.summary.mapper.SummaryMapperImpl;
+import com.example.summary.model.RollupGranularity;
+import com.example.summary.model.Summary;
+import com.example.summary.service.SpendingRollupService;
+import com.example.summary.service.SummaryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ActiveProfiles("test")
 @WebMvcTest(SummaryController.class)
-@Import({com.example.summary.config.SecurityConfig.class, SummaryControllerTest.TestSecurityConfig.class})
+@Import({SummaryControllerTest.TestSecurityConfig.class, SummaryMapperImpl.class})
 public class SummaryControllerTest {
 
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SummaryService summaryService;
+
+    @MockBean
+    private SpendingRollupService spendingRollupService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testCreateSummaryMapsTotalAndItemCount() throws Exception {
+        // Arrange
+        SummaryDTO summaryDTO = new SummaryDTO();
+        summaryDTO.setOrderId(7L);
+        summaryDTO.setItems(List.of("apple", "bread"));
+        summaryDTO.setTotal(12.5);
+
+        Summary saved = new Summary();
+        saved.setId(1L);
+        saved.setOrderId(7L);
+        saved.setTotalAmount(BigDecimal.valueOf(12.5));
+        saved.setItemCount(2);
+        when(summaryService.createSummary(any(Summary.class))).thenReturn(saved);
+
+        // Act / Assert
+        mockMvc.perform(post("/summaries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(summaryDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1L))
+                .andExpect(jsonPath("$.orderId").value(7L))
+                .andExpect(jsonPath("$.total").value(12.5));
+
+        ArgumentCaptor<Summary> captor = ArgumentCaptor.forClass(Summary.class);
+        verify(summaryService).createSummary(captor.capture());
+        assertEquals(0, BigDecimal.valueOf(12.5).compareTo(captor.getValue().getTotalAmount()));
+        assertEquals(2, captor.getValue().getItemCount());
+    }
+
+    @Test
+    public void testGetUserStats() throws Exception {
+        // Arrange
+        when(summaryService.getUserStats("user123")).thenReturn(
+                new SummaryStatsDTO(4L, BigDecimal.valueOf(100), BigDecimal.TEN, BigDecimal.valueOf(40), null));
+
+        // Act / Assert
+        mockMvc.perform(get("/summaries/users/user123/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderCount").value(4))
+                .andExpect(jsonPath("$.totalAmount").value(100))
+                .andExpect(jsonPath("$.averageAmount").value(25));
+    }
+
+    @Test
+    public void testGetUserRollups() throws Exception {
+        // Arrange
+        LocalDateTime day = LocalDateTime.of(2024, 3, 1, 0, 0);
+        when(spendingRollupService.getRollups("user123", RollupGranularity.DAY, day, day.plusDays(90)))
+                .thenReturn(List.of(new SpendingRollupDTO(day, 2L, BigDecimal.valueOf(30))));
+
+        // Act / Assert
+        mockMvc.perform(get("/summaries/users/user123/rollups")
+                        .param("granularity", "day")
+                        .param("from", "2024-03-01T00:00:00")
+                        .param("to", "2024-05-30T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].orderCount").value(2))
+                .andExpect(jsonPath("$[0].totalAmount").value(30));
+    }
+
+    @Test
+    public void testGetGlobalRollupsReadsTheGlobalScope() throws Exception {
+        // Act
+        mockMvc.perform(get("/summaries/rollups")
+                        .param("granularity", "MONTH")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("to", "2025-01-01T00:00:00"))
+                .andExpect(status().isOk());
+
+        // Assert
+        verify(spendingRollupService).getGlobalRollups(eq(RollupGranularity.MONTH), any(), any());
+    }
+
+    @Test
+    public void testGetRollupsRejectsUnknownGranularity() throws Exception {
+        // Act / Assert
+        mockMvc.perform(get("/summaries/rollups")
+                        .param("granularity", "week")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("to", "2025-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(spendingRollupService);
+    }
+
     @TestConfiguration
     @Profile("test")
     static class TestSecurityConfig {
@@ -22,9 +149,5 @@ public class SummaryControllerTest {
             http.csrf().disable().authorizeHttpRequests().anyRequest().permitAll();
             return http.build();
         }
-        @Bean
-        public com.example.summary.config.JwtUtil jwtUtil() {
-            return new com.example.summary.config.JwtUtil();
-        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+package com.example.summary.service;
+
+import com.example.summary.dto.SpendingRollupDTO;
+import com.example.summary.model.RollupGranularity;
+import com.example.summary.model.Summary;
+import com.example.summary.repository.SpendingRollupRepository;
+import com.example.summary.repository.SummaryRepository;
+import com.example.summary.repository.UserSpendingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class SpendingRollupTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 31, 22, 15);
+
+    @Autowired
+    private SummaryService summaryService;
+
+    @Autowired
+    private SpendingRollupService spendingRollupService;
+
+    @Autowired
+    private SpendingRollupRepository spendingRollupRepository;
+
+    @Autowired
+    private SummaryRepository summaryRepository;
+
+    @Autowired
+    private UserSpendingRepository userSpendingRepository;
+
+    @BeforeEach
+    void setUp() {
+        spendingRollupRepository.deleteAllInBatch();
+        userSpendingRepository.deleteAllInBatch();
+        summaryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testSummariesAreBucketedPerUserAndGlobally() {
+        // Arrange
+        summaryService.createSummary(summary("alice", "10.00", START));
+        summaryService.createSummary(summary("alice", "5.00", START.plusMinutes(30)));
+        summaryService.createSummary(summary("alice", "20.00", START.plusHours(2)));
+        summaryService.createSummary(summary("bob", "7.00", START));
+
+        // Act
+        List<SpendingRollupDTO> hours = spendingRollupService.getRollups("alice", RollupGranularity.HOUR,
+                START.minusDays(1), START.plusDays(1));
+        List<SpendingRollupDTO> days = spendingRollupService.getRollups("alice", RollupGranularity.DAY,
+                START.minusDays(1), START.plusDays(1));
+        List<SpendingRollupDTO> months = spendingRollupService.getGlobalRollups(RollupGranularity.MONTH, START.minusMonths(1), START.plusMonths(1));
+
+        // Assert
+        assertEquals(2, hours.size());
+        assertEquals(LocalDateTime.of(2024, 1, 31, 22, 0), hours.get(0).bucketStart());
+        assertEquals(2, hours.get(0).orderCount());
+        assertEquals(0, new BigDecimal("15.00").compareTo(hours.get(0).totalAmount()));
+        assertEquals(LocalDateTime.of(2024, 2, 1, 0, 0), hours.get(1).bucketStart());
+
+        assertEquals(2, days.size());
+        assertEquals(LocalDateTime.of(2024, 1, 31, 0, 0), days.get(0).bucketStart());
+        assertEquals(2, days.get(0).orderCount());
+
+        assertEquals(2, months.size());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), months.get(0).bucketStart());
+        assertEquals(3, months.get(0).orderCount());
+        assertEquals(0, new BigDecimal("22.00").compareTo(months.get(0).totalAmount()));
+        assertEquals(1, months.get(1).orderCount());
+    }
+
+    @Test
+    void testGlobalBucketsAreKeptApartFromUserIds() {
+        // Arrange
+        summaryService.createSummary(summary("alice", "10.00", START));
+        summaryService.createSummary(summary("*", "3.00", START));
+        summaryService.createSummary(summary("", "4.00", START));
+
+        // Act
+        List<SpendingRollupDTO> global = spendingRollupService.getGlobalRollups(RollupGranularity.DAY,
+                START.minusDays(1), START.plusDays(1));
+        List<SpendingRollupDTO> star = spendingRollupService.getRollups("*", RollupGranularity.DAY,
+                START.minusDays(1), START.plusDays(1));
+        List<SpendingRollupDTO> blank = spendingRollupService.getRollups("", RollupGranularity.DAY,
+                START.minusDays(1), START.plusDays(1));
+
+        // Assert
+        assertEquals(3, global.get(0).orderCount());
+        assertEquals(1, star.get(0).orderCount());
+        assertEquals(0, new BigDecimal("3.00").compareTo(star.get(0).totalAmount()));
+        assertEquals(1, blank.get(0).orderCount());
+    }
+
+    @Test
+    void testRangeIsValidated() {
+        assertThrows(IllegalArgumentException.class, () -> spendingRollupService.getRollups("alice",
+                RollupGranularity.DAY, START, START));
+        assertThrows(IllegalArgumentException.class, () -> spendingRollupService.getRollups("alice",
+                RollupGranularity.HOUR, START, START.plusYears(2)));
+    }
+
+    private static Summary summary(String userId, String amount, LocalDateTime createdAt) {
+        Summary summary = new Summary();
+        summary.setUserId(userId);
+        summary.setOrderId(1L);
+        summary.setTotalAmount(new BigDecimal(amount));
+        summary.setItemCount(1);
+        summary.setCreatedAt(createdAt);
+        return summary;
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.summary.service;
 
+import com.example.summary.dto.SummaryStatsDTO;
 import com.example.summary.model.Summary;
+import com.example.summary.model.UserSpending;
 import com.example.summary.repository.SummaryRepository;
+import com.example.summary.repository.UserSpendingRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import static org.mockito.Mockito.*;
@@ -23,6 +27,12 @@ class SummaryServiceTest {
     @Mock
     private SummaryRepository summaryRepository;
 
+    @Mock
+    private UserSpendingRepository userSpendingRepository;
+
+    @Mock
+    private SpendingRollupService spendingRollupService;
+
     @InjectMocks
     private SummaryService summaryService;
 
@@ -117,80 +127,121 @@ class SummaryServiceTest {
     }
 
     @Test
-    void testGetUserTotalSpending() {
+    void testCreateSummaryAddsToExistingAggregate() {
         // Arrange
-        Summary summary1 = new Summary();
-        summary1.setUserId("user123");
-        summary1.setTotalAmount(BigDecimal.valueOf(100.00));
+        when(summaryRepository.save(any(Summary.class))).thenReturn(testSummary);
+        when(userSpendingRepository.addOrder("user123", BigDecimal.valueOf(99.99), testSummary.getCreatedAt())).thenReturn(1);
 
-        Summary summary2 = new Summary();
-        summary2.setUserId("user123");
-        summary2.setTotalAmount(BigDecimal.valueOf(150.00));
+        // Act
+        summaryService.createSummary(testSummary);
 
-        when(summaryRepository.findByUserId("user123")).thenReturn(Arrays.asList(summary1, summary2));
+        // Assert
+        verify(userSpendingRepository, never()).createIfAbsent(any());
+        verify(spendingRollupService).record("user123", BigDecimal.valueOf(99.99), testSummary.getCreatedAt());
+    }
+
+    @Test
+    void testCreateSummaryStartsAggregateForFirstOrder() {
+        // Arrange
+        when(summaryRepository.save(any(Summary.class))).thenReturn(testSummary);
+        when(userSpendingRepository.addOrder(any(), any(), any())).thenReturn(0);
+
+        // Act
+        summaryService.createSummary(testSummary);
+
+        // Assert: the row is created empty, so a concurrent first order cannot hit a key violation
+        InOrder inOrder = inOrder(userSpendingRepository);
+        inOrder.verify(userSpendingRepository).addOrder("user123", BigDecimal.valueOf(99.99), testSummary.getCreatedAt());
+        inOrder.verify(userSpendingRepository).createIfAbsent("user123");
+        inOrder.verify(userSpendingRepository).addOrder("user123", BigDecimal.valueOf(99.99), testSummary.getCreatedAt());
+        verify(userSpendingRepository, never()).save(any(UserSpending.class));
+    }
+
+    @Test
+    void testGetUserTotalSpending() {
+        // Arrange
+        when(userSpendingRepository.findById("user123")).thenReturn(Optional.of(spending(250.00, 2)));
 
         // Act
         BigDecimal totalSpending = summaryService.getUserTotalSpending("user123");
 
         // Assert
         assertEquals(BigDecimal.valueOf(250.00), totalSpending);
-        verify(summaryRepository, times(1)).findByUserId("user123");
+        verify(summaryRepository, never()).findByUserId(any());
     }
 
     @Test
     void testGetUserTotalSpendingNoOrders() {
         // Arrange
-        when(summaryRepository.findByUserId("user123")).thenReturn(Arrays.asList());
+        when(userSpendingRepository.findById("user123")).thenReturn(Optional.empty());
+        when(summaryRepository.findStatsByUserId("user123")).thenReturn(new SummaryStatsDTO(0L, null, null, null, null));
 
         // Act
         BigDecimal totalSpending = summaryService.getUserTotalSpending("user123");
 
         // Assert
         assertEquals(BigDecimal.ZERO, totalSpending);
-        verify(summaryRepository, times(1)).findByUserId("user123");
     }
 
     @Test
     void testGetUserOrderCount() {
         // Arrange
-        when(summaryRepository.countByUserId("user123")).thenReturn(5L);
+        when(userSpendingRepository.findById("user123")).thenReturn(Optional.of(spending(500.00, 5)));
 
         // Act
         long orderCount = summaryService.getUserOrderCount("user123");
 
         // Assert
         assertEquals(5L, orderCount);
-        verify(summaryRepository, times(1)).countByUserId("user123");
+        verify(summaryRepository, never()).countByUserId(any());
     }
 
     @Test
     void testGetAverageOrderAmount() {
         // Arrange
-        Summary summary1 = new Summary();
-        summary1.setTotalAmount(BigDecimal.valueOf(100.00));
-        Summary summary2 = new Summary();
-        summary2.setTotalAmount(BigDecimal.valueOf(200.00));
-
-        when(summaryRepository.findByUserId("user123")).thenReturn(Arrays.asList(summary1, summary2));
+        when(userSpendingRepository.findById("user123")).thenReturn(Optional.of(spending(300.00, 2)));
 
         // Act
         BigDecimal averageAmount = summaryService.getAverageOrderAmount("user123");
 
         // Assert
         assertEquals(BigDecimal.valueOf(150.00), averageAmount);
-        verify(summaryRepository, times(1)).findByUserId("user123");
+        verify(summaryRepository, never()).findByUserId(any());
     }
 
     @Test
     void testGetAverageOrderAmountNoOrders() {
         // Arrange
-        when(summaryRepository.findByUserId("user123")).thenReturn(Arrays.asList());
+        when(userSpendingRepository.findById("user123")).thenReturn(Optional.empty());
+        when(summaryRepository.findStatsByUserId("user123")).thenReturn(new SummaryStatsDTO(0L, null, null, null, null));
 
         // Act
         BigDecimal averageAmount = summaryService.getAverageOrderAmount("user123");
 
         // Assert
         assertEquals(BigDecimal.ZERO, averageAmount);
-        verify(summaryRepository, times(1)).findByUserId("user123");
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testGetUserStatsFallsBackToProjectionWithoutAggregate() {
+        // Arrange
+        SummaryStatsDTO stats = new SummaryStatsDTO(2L, BigDecimal.valueOf(30), BigDecimal.TEN, BigDecimal.valueOf(20), null);
+        when(userSpendingRepository.findById("user123")).thenReturn(Optional.empty());
+        when(summaryRepository.findStatsByUserId("user123")).thenReturn(stats);
+
+        // Act
+        SummaryStatsDTO result = summaryService.getUserStats("user123");
+
+        // Assert
+        assertEquals(BigDecimal.valueOf(15), result.averageAmount());
+        verify(summaryRepository, never()).findByUserId(any());
+    }
+
+    private static UserSpending spending(double total, long count) {
+        UserSpending spending = new UserSpending();
+        spending.setUserId("user123");
+        spending.setTotalAmount(BigDecimal.valueOf(total));
+        spending.setOrderCount(count);
+        return spending;
+    }
+}
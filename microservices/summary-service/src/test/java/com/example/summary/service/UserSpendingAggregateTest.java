@@ -0,0 +1,123 @@
+package com.example.summary.service;
+
+import com.example.summary.dto.SummaryStatsDTO;
+import com.example.summary.model.Summary;
+import com.example.summary.model.UserSpending;
+import com.example.summary.repository.SummaryRepository;
+import com.example.summary.repository.UserSpendingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class UserSpendingAggregateTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Autowired
+    private SummaryService summaryService;
+
+    @Autowired
+    private SummaryRepository summaryRepository;
+
+    @Autowired
+    private UserSpendingRepository userSpendingRepository;
+
+    @BeforeEach
+    void setUp() {
+        userSpendingRepository.deleteAllInBatch();
+        summaryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testCreateSummaryMaintainsAggregate() {
+        // Arrange / Act
+        summaryService.createSummary(summary("alice", "40.00", START.plusDays(1)));
+        summaryService.createSummary(summary("alice", "10.00", START.plusDays(3)));
+        summaryService.createSummary(summary("alice", "70.00", START.plusDays(2)));
+        summaryService.createSummary(summary("bob", "5.00", START));
+
+        // Assert
+        UserSpending alice = userSpendingRepository.findById("alice").orElseThrow();
+        assertEquals(0, new BigDecimal("120.00").compareTo(alice.getTotalAmount()));
+        assertEquals(3, alice.getOrderCount());
+        assertEquals(0, new BigDecimal("10.00").compareTo(alice.getMinAmount()));
+        assertEquals(0, new BigDecimal("70.00").compareTo(alice.getMaxAmount()));
+        assertEquals(START.plusDays(3), alice.getLastOrderAt());
+        assertEquals(0, new BigDecimal("40.00").compareTo(summaryService.getAverageOrderAmount("alice")));
+        assertEquals(1, summaryService.getUserOrderCount("bob"));
+    }
+
+    @Test
+    void testRebuildMatchesIncrementalAggregate() {
+        // Arrange
+        summaryService.createSummary(summary("alice", "40.00", START));
+        summaryService.createSummary(summary("alice", "60.00", START.plusHours(1)));
+        summaryRepository.save(summary("alice", "100.00", START.plusHours(2)));
+
+        // Act
+        int users = summaryService.rebuildUserSpending();
+
+        // Assert
+        assertEquals(1, users);
+        UserSpending alice = userSpendingRepository.findById("alice").orElseThrow();
+        assertEquals(0, new BigDecimal("200.00").compareTo(alice.getTotalAmount()));
+        assertEquals(3, alice.getOrderCount());
+        assertEquals(0, new BigDecimal("40.00").compareTo(alice.getMinAmount()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(alice.getMaxAmount()));
+        assertEquals(START.plusHours(2), alice.getLastOrderAt());
+    }
+
+    @Test
+    void testProjectionQueryMatchesAggregate() {
+        // Arrange
+        summaryService.createSummary(summary("alice", "40.00", START));
+        summaryService.createSummary(summary("alice", "60.00", START.plusHours(1)));
+        Summary withoutAmount = summary("alice", "0", START.plusHours(2));
+        withoutAmount.setTotalAmount(null);
+        summaryService.createSummary(withoutAmount);
+
+        // Act
+        SummaryStatsDTO fromAggregate = summaryService.getUserStats("alice");
+        SummaryStatsDTO fromRows = summaryRepository.findStatsByUserId("alice");
+
+        // Assert
+        assertEquals(3, fromRows.orderCount());
+        assertEquals(0, new BigDecimal("100.00").compareTo(fromRows.totalAmount()));
+        assertEquals(0, new BigDecimal("33.33").compareTo(fromRows.averageAmount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(fromRows.minAmount()));
+        assertEquals(START.plusHours(2), fromRows.lastOrderAt());
+        assertEquals(fromRows.orderCount(), fromAggregate.orderCount());
+        assertEquals(0, fromRows.totalAmount().compareTo(fromAggregate.totalAmount()));
+        assertEquals(0, fromRows.maxAmount().compareTo(fromAggregate.maxAmount()));
+    }
+
+    @Test
+    void testProjectionQueryForUserWithoutSummaries() {
+        // Act
+        SummaryStatsDTO stats = summaryService.getUserStats("nobody");
+
+        // Assert
+        assertEquals(0, stats.orderCount());
+        assertEquals(BigDecimal.ZERO, stats.totalAmount());
+        assertEquals(BigDecimal.ZERO, stats.averageAmount());
+    }
+
+    private static Summary summary(String userId, String amount, LocalDateTime createdAt) {
+        Summary summary = new Summary();
+        summary.setUserId(userId);
+        summary.setOrderId(1L);
+        summary.setTotalAmount(new BigDecimal(amount));
+        summary.setItemCount(1);
+        summary.setCreatedAt(createdAt);
+        return summary;
+    }
+}
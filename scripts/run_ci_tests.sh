@@ -22,7 +22,7 @@ run_monolith_tests() {
 run_microservice_tests() {
   prepare_test_properties
   for service in "${SERVICES[@]}"; do
-    (cd "${ROOT_DIR}/microservices/${service}" && mvn -B test -Dspring.profiles.active=test)
+    (cd "${ROOT_DIR}" && mvn -B test -Dspring.profiles.active=test -pl "microservices/${service}" -am)
   done
 }
 
@@ -48,7 +48,7 @@ for SERVICE in "${SERVICES[@]}"; do
     
     # Build the service using Maven
     echo -e "${BLUE}📦 Building JAR file...${NC}"
-    mvn clean package -pl microservices/${SERVICE}-service -DskipTests
+    mvn clean package -pl microservices/${SERVICE}-service -am -DskipTests
     
     # Create Dockerfile if it doesn't exist
     DOCKERFILE_PATH="microservices/${SERVICE}-service/Dockerfile"
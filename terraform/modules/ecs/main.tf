@@ -26,7 +26,7 @@ resource "aws_ecs_task_definition" "service" {
         }
       ]
       
-      environment = [
+      environment = concat([
         {
           name  = "SPRING_PROFILES_ACTIVE"
           value = var.environment
@@ -43,9 +43,9 @@ resource "aws_ecs_task_definition" "service" {
           name  = "SPRING_DATASOURCE_USERNAME"
           value = "grocellery"
         }
-      ]
+      ], [for name, value in var.environment_variables : { name = name, value = value }])
       
-      secrets = [
+      secrets = concat([
         {
           name      = "SPRING_DATASOURCE_PASSWORD"
           valueFrom = "${var.db_secret_arn}:password::"
@@ -58,7 +58,7 @@ resource "aws_ecs_task_definition" "service" {
           name      = "SERVICE_CONFIG"
           valueFrom = "${var.service_config_parameter_arn}"
         }
-      ]
+      ], [for name, secret in var.additional_secrets : { name = name, valueFrom = "${secret.secret_arn}:${secret.json_key}::" }])
       
       healthCheck = {
         command = [
@@ -292,11 +292,11 @@ resource "aws_iam_policy" "secrets_access" {
           "secretsmanager:GetSecretValue",
           "ssm:GetParameter"
         ]
-        Resource = [
+        Resource = concat([
           var.db_secret_arn,
           var.jwt_secret_arn,
           var.service_config_parameter_arn
-        ]
+        ], distinct([for secret in values(var.additional_secrets) : secret.secret_arn]))
       }
     ]
   })
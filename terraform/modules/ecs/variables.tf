@@ -112,6 +112,21 @@ variable "service_config_parameter_arn" {
   type        = string
 }
 
+variable "environment_variables" {
+  description = "Additional plain environment variables for the container, such as URLs of services it calls"
+  type        = map(string)
+  default     = {}
+}
+
+variable "additional_secrets" {
+  description = "Additional container environment variables read from a JSON key of a Secrets Manager secret"
+  type = map(object({
+    secret_arn = string
+    json_key   = string
+  }))
+  default = {}
+}
+
 variable "enable_monitoring" {
   description = "Enable CloudWatch monitoring"
   type        = bool
@@ -57,6 +57,30 @@ resource "aws_ecr_lifecycle_policy" "services" {
   })
 }
 
+# Calls between services. order-service prices every order from product-service and delivers
+# order-created events to summary-service, so it gets both addresses and signs each call with the
+# JWT secret of the service it calls.
+locals {
+  service_environment = {
+    order = {
+      ORDER_PRICING_PRODUCT_URL = "http://product.${local.name_prefix}.local:${var.services["product"].port}"
+      ORDER_EVENTS_SUMMARY_URL  = "http://summary.${local.name_prefix}.local:${var.services["summary"].port}"
+    }
+  }
+  service_secrets = {
+    order = {
+      ORDER_PRICING_PRODUCT_JWT_SECRET = {
+        secret_arn = aws_secretsmanager_secret.jwt_secrets["product"].arn
+        json_key   = "jwt_secret"
+      }
+      ORDER_EVENTS_SUMMARY_JWT_SECRET = {
+        secret_arn = aws_secretsmanager_secret.jwt_secrets["summary"].arn
+        json_key   = "jwt_secret"
+      }
+    }
+  }
+}
+
 # ECS Services using the improved module
 module "ecs_service" {
   for_each = var.services
@@ -94,6 +118,8 @@ module "ecs_service" {
   db_secret_arn = aws_secretsmanager_secret.db_password.arn
   jwt_secret_arn = aws_secretsmanager_secret.jwt_secrets[each.key].arn
   service_config_parameter_arn = aws_ssm_parameter.service_config[each.key].arn
+  environment_variables        = lookup(local.service_environment, each.key, {})
+  additional_secrets           = lookup(local.service_secrets, each.key, {})
 
   # Monitoring
   enable_monitoring = var.enable_monitoring